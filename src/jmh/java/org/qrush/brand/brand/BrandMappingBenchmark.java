@@ -0,0 +1,49 @@
+package org.qrush.brand.brand;
+
+import org.openjdk.jmh.annotations.*;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.helpers.BrandMapper;
+import org.qrush.brand.brand.models.Brand;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brand entity to DTO mapping, directly and through {@link BrandMapper}.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=BrandMappingBenchmark}; allocation rates come from the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BrandMappingBenchmark {
+
+    private final BrandMapper brandMapper = new BrandMapper();
+    private Brand brand;
+    private BrandDto brandDto;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        UUID id = UUID.randomUUID();
+        brand = Brand.builder().id(id).name("Starbucks").build();
+        brandDto = BrandDto.builder().id(id).name("Starbucks").build();
+    }
+
+    @Benchmark
+    public BrandDto brandToDto() {
+        return brand.toDto();
+    }
+
+    @Benchmark
+    public BrandDto brandMapperToDto() {
+        return brandMapper.toDTO(brand);
+    }
+
+    @Benchmark
+    public Brand brandMapperToEntity() {
+        return brandMapper.toEntity(brandDto);
+    }
+}
@@ -0,0 +1,60 @@
+package org.qrush.brand.brand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandResponse;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson serialization of a {@link BrandResponse} page, as returned by {@code GET /brand}, with and without
+ * the totals that slice responses leave out.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=BrandResponseSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BrandResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"true", "false"})
+    private boolean withTotals;
+
+    private ObjectWriter writer;
+    private BrandResponse brandResponse;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Same modules as the ObjectMapper Spring Boot configures
+        writer = new ObjectMapper().findAndRegisterModules().writerFor(BrandResponse.class);
+
+        List<BrandDto> content = IntStream.range(0, pageSize)
+                .mapToObj(i -> BrandDto.builder().id(UUID.randomUUID()).name("Brand " + i).build())
+                .toList();
+        brandResponse = BrandResponse.builder()
+                .content(content)
+                .pageNumber(3)
+                .pageSize(pageSize)
+                .totalElements(withTotals ? 10_000L : null)
+                .totalPages(withTotals ? 10_000 / pageSize : null)
+                .last(false)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(brandResponse);
+    }
+}
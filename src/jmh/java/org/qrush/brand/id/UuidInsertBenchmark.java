@@ -0,0 +1,93 @@
+package org.qrush.brand.id;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a uuid primary key with random (v4) against time-ordered (v7, {@link TimeOrderedUuid})
+ * ids. Each trial loads {@code rows} rows into a fresh table in committed JDBC batches, reports the total time
+ * and prints the final size of the primary key index, which is where page splits from random ids show up.
+ * <p>
+ * Needs PostgreSQL, by default the database from application.properties. Point it elsewhere with
+ * {@code -Dbench.jdbc.url}, {@code -Dbench.jdbc.user} and {@code -Dbench.jdbc.password}.
+ * It is left out of a plain {@code ./gradlew jmh}; run it with
+ * {@code ./gradlew jmh -PjmhDatabase -PjmhIncludes=UuidInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String TABLE = "uuid_insert_benchmark";
+
+    @Param({"v4", "v7"})
+    private String idVersion;
+
+    @Param({"10000000"})
+    private int rows;
+
+    private Connection connection;
+    private Supplier<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/root"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", "root"));
+        connection.setAutoCommit(false);
+        ids = "v7".equals(idVersion) ? TimeOrderedUuid::next : UUID::randomUUID;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id uuid PRIMARY KEY, name varchar(255) NOT NULL)");
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + TABLE + " (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                statement.setObject(1, ids.get());
+                statement.setString(2, "Restaurant " + i);
+                statement.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet size = statement.executeQuery("SELECT pg_size_pretty(pg_relation_size('" + TABLE + "_pkey'))")) {
+                size.next();
+                System.out.printf("%n%s primary key index after %d rows: %s%n", idVersion, rows, size.getString(1));
+            }
+            statement.execute("DROP TABLE " + TABLE);
+            connection.commit();
+        } finally {
+            connection.close();
+        }
+    }
+}
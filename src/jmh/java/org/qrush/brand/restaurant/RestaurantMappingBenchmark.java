@@ -0,0 +1,63 @@
+package org.qrush.brand.restaurant;
+
+import org.openjdk.jmh.annotations.*;
+import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.restaurant.dto.RestaurantDto;
+import org.qrush.brand.restaurant.helpers.RestaurantMapper;
+import org.qrush.brand.restaurant.models.Restaurant;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Restaurant DTO to entity mapping and back, directly and through {@link RestaurantMapper}.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=RestaurantMappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RestaurantMappingBenchmark {
+
+    private final RestaurantMapper restaurantMapper = new RestaurantMapper();
+    private Brand brand;
+    private Restaurant restaurant;
+    private RestaurantDto restaurantDto;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        brand = Brand.builder().id(UUID.randomUUID()).name("Starbucks").build();
+        restaurantDto = RestaurantDto.builder()
+                .name("Starbucks Ipswich")
+                .address("123 Main Street")
+                .latitude(52.05)
+                .longitude(1.15)
+                .brandId(brand.getId())
+                .build();
+        restaurant = restaurantDto.toRestaurant(brand);
+        restaurant.setId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Restaurant restaurantDtoToRestaurant() {
+        return restaurantDto.toRestaurant(brand);
+    }
+
+    @Benchmark
+    public RestaurantDto restaurantToDto() {
+        return restaurant.toDto();
+    }
+
+    @Benchmark
+    public Restaurant restaurantMapperToEntity() {
+        return restaurantMapper.toEntity(restaurantDto, brand);
+    }
+
+    @Benchmark
+    public RestaurantDto restaurantMapperToDto() {
+        return restaurantMapper.toDTO(restaurant);
+    }
+}
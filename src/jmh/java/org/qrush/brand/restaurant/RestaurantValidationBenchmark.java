@@ -0,0 +1,69 @@
+package org.qrush.brand.restaurant;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.qrush.brand.restaurant.dto.RestaurantDto;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of a {@link RestaurantDto}, as {@code @Valid} runs it on every create request. The invalid
+ * case fails three constraints, so it also pays for building violations and interpolating their messages.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=RestaurantValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RestaurantValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private RestaurantDto validRestaurant;
+    private RestaurantDto invalidRestaurant;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        UUID brandId = UUID.randomUUID();
+        validRestaurant = RestaurantDto.builder()
+                .name("Starbucks Ipswich")
+                .address("123 Main Street")
+                .latitude(52.05)
+                .longitude(1.15)
+                .brandId(brandId)
+                .build();
+        invalidRestaurant = RestaurantDto.builder()
+                .name("")
+                .address("123 Main Street")
+                .latitude(95.0)
+                .longitude(null)
+                .brandId(brandId)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RestaurantDto>> validateValid() {
+        return validator.validate(validRestaurant);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RestaurantDto>> validateInvalid() {
+        return validator.validate(invalidRestaurant);
+    }
+}
@@ -0,0 +1,66 @@
+package org.qrush.brand.restaurant.spatial;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vectorized against scalar haversine scoring over {@link CoordinateColumns}, both for a contiguous scan and
+ * for slots gathered in random order as they come out of grid cells.
+ * <p>
+ * Run with {@code ./gradlew jmh}; the vector kernel needs {@code --add-modules jdk.incubator.vector}, which the
+ * jmh task passes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DistanceKernelBenchmark {
+
+    @Param({"256", "65536"})
+    private int candidates;
+
+    @Param({"scalar", "vector"})
+    private String kernel;
+
+    private DistanceKernel distanceKernel;
+    private CoordinateColumns columns;
+    private int[] slots;
+    private double[] distances;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        distanceKernel = "vector".equals(kernel) ? new VectorDistanceKernel() : new ScalarDistanceKernel();
+
+        Random random = new Random(11);
+        columns = new CoordinateColumns(candidates);
+        slots = new int[candidates];
+        for (int i = 0; i < candidates; i++) {
+            columns.add(51.5 + random.nextGaussian() * 0.2, -0.12 + random.nextGaussian() * 0.3);
+            slots[i] = i;
+        }
+        for (int i = candidates - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int slot = slots[i];
+            slots[i] = slots[j];
+            slots[j] = slot;
+        }
+        distances = new double[candidates];
+    }
+
+    @Benchmark
+    public void contiguous(Blackhole blackhole) {
+        distanceKernel.distances(columns, 0.8988, -0.0021, 0, candidates, distances);
+        blackhole.consume(distances);
+    }
+
+    @Benchmark
+    public void gathered(Blackhole blackhole) {
+        distanceKernel.distances(columns, 0.8988, -0.0021, slots, candidates, distances);
+        blackhole.consume(distances);
+    }
+}
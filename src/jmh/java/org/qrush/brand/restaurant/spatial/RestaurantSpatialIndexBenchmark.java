@@ -0,0 +1,106 @@
+package org.qrush.brand.restaurant.spatial;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grid index against a brute-force scan over the same restaurants.
+ * Restaurants are clustered around a fixed set of cities, queries are drawn from the same clusters.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RestaurantSpatialIndexBenchmark {
+
+    private static final double[][] CITIES = {
+            {51.507, -0.128}, {40.713, -74.006}, {48.857, 2.352}, {35.690, 139.692}, {-33.869, 151.209},
+            {19.433, -99.133}, {-23.551, -46.633}, {28.614, 77.209}, {55.756, 37.617}, {1.352, 103.820},
+            {52.520, 13.405}, {41.902, 12.496}, {34.052, -118.244}, {30.044, 31.236}, {-26.204, 28.047}
+    };
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"1000000"})
+    private int restaurantCount;
+
+    @Param({"10"})
+    private int k;
+
+    @Param({"2000"})
+    private double radiusMeters;
+
+    private GeoGridIndex gridIndex;
+    private IndexedRestaurant[] restaurants;
+    private double[][] queries;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(7);
+        gridIndex = new GeoGridIndex(0.05);
+        restaurants = new IndexedRestaurant[restaurantCount];
+        for (int i = 0; i < restaurantCount; i++) {
+            double[] location = randomLocation(random);
+            restaurants[i] = new IndexedRestaurant(UUID.randomUUID(), UUID.randomUUID(), "Restaurant " + i, "Address " + i, location[0], location[1]);
+            gridIndex.add(restaurants[i]);
+        }
+
+        queries = new double[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries[i] = randomLocation(random);
+        }
+    }
+
+    @Benchmark
+    public List<Neighbour> gridNearest() {
+        double[] query = nextQuery();
+        return gridIndex.nearest(query[0], query[1], k);
+    }
+
+    @Benchmark
+    public List<Neighbour> bruteForceNearest() {
+        double[] query = nextQuery();
+        return bruteForce(query[0], query[1], Double.POSITIVE_INFINITY, k);
+    }
+
+    @Benchmark
+    public List<Neighbour> gridWithinRadius() {
+        double[] query = nextQuery();
+        return gridIndex.withinRadius(query[0], query[1], radiusMeters, 100);
+    }
+
+    @Benchmark
+    public List<Neighbour> bruteForceWithinRadius() {
+        double[] query = nextQuery();
+        return bruteForce(query[0], query[1], radiusMeters, 100);
+    }
+
+    private List<Neighbour> bruteForce(double latitude, double longitude, double radius, int limit) {
+        NeighbourCollector collector = new NeighbourCollector(limit);
+        for (IndexedRestaurant restaurant : restaurants) {
+            double distance = GeoDistance.haversineMeters(latitude, longitude, restaurant.latitude(), restaurant.longitude());
+            if (distance <= radius) {
+                collector.offer(restaurant, distance);
+            }
+        }
+        return collector.sorted();
+    }
+
+    private double[] nextQuery() {
+        return queries[nextQuery++ & (QUERY_COUNT - 1)];
+    }
+
+    private static double[] randomLocation(Random random) {
+        double[] city = CITIES[random.nextInt(CITIES.length)];
+        // Roughly a 20 km spread around each city centre
+        return new double[]{city[0] + random.nextGaussian() * 0.15, city[1] + random.nextGaussian() * 0.2};
+    }
+}
@@ -0,0 +1,80 @@
+package org.qrush.brand.load;
+
+import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.restaurant.models.Restaurant;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Portable writer for databases without COPY, such as H2. Rows are sent as JDBC batches and committed a
+ * batch at a time.
+ */
+class BatchDatasetWriter implements DatasetWriter {
+
+    private final Connection connection;
+    private final PreparedStatement brandInsert;
+    private final PreparedStatement restaurantInsert;
+    private final int batchSize;
+    private int pendingBrands;
+    private int pendingRestaurants;
+
+    BatchDatasetWriter(Connection connection, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+        this.brandInsert = connection.prepareStatement("INSERT INTO brand (id, name, version) VALUES (?, ?, 0)");
+        this.restaurantInsert = connection.prepareStatement(
+                "INSERT INTO restaurants (id, name, address, latitude, longitude, brand_id, version) VALUES (?, ?, ?, ?, ?, ?, 0)");
+    }
+
+    @Override
+    public void write(Brand brand) throws SQLException {
+        brandInsert.setObject(1, brand.getId());
+        brandInsert.setString(2, brand.getName());
+        brandInsert.addBatch();
+        if (++pendingBrands == batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void write(Restaurant restaurant) throws SQLException {
+        restaurantInsert.setObject(1, restaurant.getId());
+        restaurantInsert.setString(2, restaurant.getName());
+        restaurantInsert.setString(3, restaurant.getAddress());
+        restaurantInsert.setDouble(4, restaurant.getLatitude());
+        restaurantInsert.setDouble(5, restaurant.getLongitude());
+        restaurantInsert.setObject(6, restaurant.getBrand().getId());
+        restaurantInsert.addBatch();
+        if (++pendingRestaurants == batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void finish() throws SQLException {
+        flush();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (connection; brandInsert; restaurantInsert) {
+            connection.rollback();
+        }
+    }
+
+    private void flush() throws SQLException {
+        // Brands first, restaurants reference them
+        if (pendingBrands > 0) {
+            brandInsert.executeBatch();
+            pendingBrands = 0;
+        }
+        if (pendingRestaurants > 0) {
+            restaurantInsert.executeBatch();
+            pendingRestaurants = 0;
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,124 @@
+package org.qrush.brand.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop concurrency test against a running instance. For each concurrency level, {@code clients} virtual
+ * threads each send a request, wait for the response and send the next one, for a fixed duration. Throughput
+ * and latency percentiles are printed per level.
+ * <p>
+ * Half of the requests page through brands, which always hits the database, the rest are cached brand
+ * lookups and in-memory nearby searches. Compare the two request threading modes by running it against each:
+ * <pre>
+ * VIRTUAL_THREADS=false ./gradlew bootRun
+ * ./gradlew loadTest -PloadTestArgs="--label=platform"
+ *
+ * VIRTUAL_THREADS=true ./gradlew bootRun
+ * ./gradlew loadTest -PloadTestArgs="--label=virtual"
+ * </pre>
+ * Arguments: {@code --base-url} (http://localhost:8080), {@code --clients} (200,2000,20000), {@code --duration}
+ * (PT60S), {@code --warmup} (PT10S), {@code --brands} (50), {@code --restaurants-per-brand} (20) and
+ * {@code --label}. 20k clients need an open file limit above 20k on both sides ({@code ulimit -n}).
+ */
+public class ConcurrencyLoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArguments arguments = new LoadTestArguments(args);
+        String baseUrl = arguments.string("base-url", "http://localhost:8080");
+        List<Integer> concurrencyLevels = arguments.integers("clients", "200,2000,20000");
+        Duration duration = arguments.duration("duration", "PT60S");
+        Duration warmup = arguments.duration("warmup", "PT10S");
+        String label = arguments.string("label", "unlabelled");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        LoadTestFixtures fixtures = LoadTestFixtures.seed(client, baseUrl,
+                arguments.integer("brands", 50), arguments.integer("restaurants-per-brand", 20));
+
+        List<String> results = new ArrayList<>();
+        for (int clients : concurrencyLevels) {
+            results.add(run(client, baseUrl, fixtures, clients, warmup, duration, label));
+        }
+
+        System.out.printf("%n%-10s %8s %12s %10s %10s %10s %10s %8s%n", "mode", "clients", "requests/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private static String run(HttpClient client, String baseUrl, LoadTestFixtures fixtures, int clients,
+                              Duration warmup, Duration duration, String label) throws InterruptedException {
+        Recorder latencies = new Recorder(3);
+        LongAdder errors = new LongAdder();
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < stopAt) {
+                        HttpRequest request = nextRequest(baseUrl, fixtures);
+                        long sentAt = System.nanoTime();
+                        boolean failed;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            failed = status >= 400;
+                        } catch (Exception ex) {
+                            failed = true;
+                        }
+                        if (sentAt >= measureFrom) {
+                            latencies.recordValue(System.nanoTime() - sentAt);
+                            if (failed) {
+                                errors.increment();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        Histogram histogram = latencies.getIntervalHistogram();
+        double seconds = duration.toNanos() / 1e9;
+        return String.format("%-10s %8d %12.0f %10.1f %10.1f %10.1f %10.1f %8d",
+                label, clients, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()), errors.sum());
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, LoadTestFixtures fixtures) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(10);
+        String path;
+        if (roll < 5) {
+            path = "/brand?pageNo=" + random.nextInt(5) + "&pageSize=10&withTotals=false";
+        } else if (roll < 8) {
+            path = "/brand/" + fixtures.brandIds().get(random.nextInt(fixtures.brandIds().size()));
+        } else {
+            double[] location = fixtures.locations().get(random.nextInt(fixtures.locations().size()));
+            path = "/restaurant/nearby?lat=" + location[0] + "&lon=" + location[1] + "&limit=10";
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
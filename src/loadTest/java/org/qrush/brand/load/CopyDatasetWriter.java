@@ -0,0 +1,110 @@
+package org.qrush.brand.load;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.restaurant.models.Restaurant;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL writer streaming rows through {@code COPY ... FROM STDIN (FORMAT csv)} in 64 KiB chunks. A
+ * writer copies into one table, brands or restaurants, and the copy commits as a single statement.
+ */
+class CopyDatasetWriter implements DatasetWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Connection connection;
+    private final CopyIn copyIn;
+    private final StringBuilder line = new StringBuilder(256);
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private boolean finished;
+
+    private CopyDatasetWriter(Connection connection, String copySql) throws SQLException {
+        this.connection = connection;
+        connection.setAutoCommit(true);
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+    }
+
+    static CopyDatasetWriter brands(Connection connection) throws SQLException {
+        return new CopyDatasetWriter(connection, "COPY brand (id, name, version) FROM STDIN WITH (FORMAT csv)");
+    }
+
+    static CopyDatasetWriter restaurants(Connection connection) throws SQLException {
+        return new CopyDatasetWriter(connection,
+                "COPY restaurants (id, name, address, latitude, longitude, brand_id, version) FROM STDIN WITH (FORMAT csv)");
+    }
+
+    @Override
+    public void write(Brand brand) throws SQLException {
+        line.setLength(0);
+        line.append(brand.getId()).append(',');
+        appendQuoted(brand.getName());
+        line.append(",0\n");
+        append();
+    }
+
+    @Override
+    public void write(Restaurant restaurant) throws SQLException {
+        line.setLength(0);
+        line.append(restaurant.getId()).append(',');
+        appendQuoted(restaurant.getName());
+        line.append(',');
+        appendQuoted(restaurant.getAddress());
+        line.append(',').append(restaurant.getLatitude())
+                .append(',').append(restaurant.getLongitude())
+                .append(',').append(restaurant.getBrand().getId())
+                .append(",0\n");
+        append();
+    }
+
+    @Override
+    public void finish() throws SQLException {
+        flush();
+        finished = true;
+        copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!finished && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private void append() throws SQLException {
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (position + bytes.length > buffer.length) {
+            flush();
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void flush() throws SQLException {
+        if (position > 0) {
+            copyIn.writeToCopy(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void appendQuoted(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
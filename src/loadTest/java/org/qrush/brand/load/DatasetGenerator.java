@@ -0,0 +1,350 @@
+package org.qrush.brand.load;
+
+import org.qrush.brand.BrandApplication;
+import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.restaurant.models.Restaurant;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a production shaped dataset for capacity tests: by default 100k brands and 5M restaurants.
+ * <p>
+ * Chain sizes follow a power law, the brand of rank {@code r} gets a share of restaurants proportional to
+ * {@code r^-exponent}, so a few chains have tens of thousands of sites and most have a handful. Restaurants
+ * are spread around cities weighted by population; small chains stay mostly in a home city. Brand names
+ * are drawn from word lists and restaurant names carry the city and a branch number, so both meet the
+ * unique constraints.
+ * <p>
+ * The output depends only on the seed and the sizes, not on the number of producers. Restaurants are
+ * generated in fixed chunks of ordinals, each from its own seeded random, and ids are version 7 UUIDs
+ * built from the ordinal, so primary keys are inserted in order.
+ * <p>
+ * The schema comes from the entities: the application context is started without a web server and
+ * {@code ddl-auto} creates the tables and constraints. Rows are then written by parallel producers, with
+ * COPY on PostgreSQL and JDBC batches on H2:
+ * <pre>
+ * ./gradlew generateDataset -PloadTestArgs="--database=postgres --truncate=true"
+ * ./gradlew mixedLoadTest -PloadTestArgs="--database=postgres"
+ * </pre>
+ * Arguments: {@code --database} (postgres, using application.properties / {@code DB_URL}, or h2),
+ * {@code --h2-url} (jdbc:h2:file:./build/dataset/brand;MODE=PostgreSQL), {@code --brands} (100000),
+ * {@code --restaurants} (5000000), {@code --seed} (42), {@code --chain-exponent} (1.0),
+ * {@code --producers} (available processors, at most the pool size), {@code --batch-size} (1000, H2 only)
+ * and {@code --truncate} (false).
+ */
+public class DatasetGenerator {
+
+    private static final int CHUNK_SIZE = 10_000;
+    // 2024-01-01T00:00:00Z, so ids are the same on every run
+    private static final long BASE_MILLIS = 1_704_067_200_000L;
+    private static final int HOME_CITY_CHAIN_SIZE = 50;
+
+    private static final String[] ADJECTIVES = {
+            "Golden", "Little", "Royal", "Happy", "Urban", "Rustic", "Lucky", "Green", "Red", "Blue", "Silver",
+            "Smoky", "Hungry", "Sunny", "Crispy", "Wild", "Old", "Fresh", "Spicy", "Sweet", "Grand", "Honest",
+            "Jolly", "Brick", "Copper", "Iron", "Velvet", "Salty", "Midnight", "Northern", "Southern", "Eastern"
+    };
+    private static final String[] NOUNS = {
+            "Dragon", "Oak", "Lantern", "Harbour", "Fox", "Garden", "Olive", "Pepper", "Anchor", "Crown", "Bear",
+            "Lemon", "Tiger", "Bridge", "Market", "Rooster", "Mill", "Orchard", "Basil", "Lotus", "Ember", "Pine",
+            "Wharf", "Fig", "Hearth", "Saffron", "Cedar", "Plum", "Falcon", "Meadow", "Spoon", "Kettle"
+    };
+    private static final String[] KINDS = {
+            "Kitchen", "Grill", "Burgers", "Pizza", "Coffee", "Tacos", "Noodle Bar", "Bakery", "Diner", "Cantina",
+            "Sushi", "Curry House", "Chicken", "Deli", "Bistro", "Smokehouse", "Ramen", "Dumplings", "Tea Room", "Bagels"
+    };
+    private static final String[] STREETS = {
+            "High Street", "Station Road", "Main Street", "Church Lane", "Market Square", "Park Avenue", "Mill Road",
+            "King Street", "Queen Street", "Bridge Street", "Victoria Road", "Harbour Way", "Broadway", "Elm Row"
+    };
+
+    // Latitude, longitude and population in millions; weights both chain placement and restaurant density
+    private record City(String name, double latitude, double longitude, double population) {
+    }
+
+    private static final City[] CITIES = {
+            new City("London", 51.507, -0.128, 9.0), new City("Manchester", 53.481, -2.243, 2.8),
+            new City("Birmingham", 52.486, -1.890, 2.9), new City("Glasgow", 55.864, -4.252, 1.7),
+            new City("Leeds", 53.801, -1.549, 1.9), new City("Edinburgh", 55.953, -3.188, 0.5),
+            new City("Bristol", 51.454, -2.588, 0.7), new City("Dublin", 53.350, -6.260, 1.4),
+            new City("Paris", 48.857, 2.352, 11.0), new City("Berlin", 52.520, 13.405, 3.7),
+            new City("Madrid", 40.417, -3.704, 6.7), new City("Rome", 41.903, 12.496, 4.3),
+            new City("Amsterdam", 52.368, 4.904, 1.2), new City("Stockholm", 59.329, 18.069, 1.6),
+            new City("Warsaw", 52.230, 21.012, 1.8), new City("Istanbul", 41.008, 28.978, 15.5),
+            new City("New York", 40.713, -74.006, 19.0), new City("Los Angeles", 34.052, -118.244, 12.5),
+            new City("Chicago", 41.878, -87.630, 8.9), new City("Houston", 29.760, -95.370, 7.1),
+            new City("Toronto", 43.653, -79.383, 6.2), new City("Mexico City", 19.433, -99.133, 21.8),
+            new City("Sao Paulo", -23.551, -46.633, 22.4), new City("Buenos Aires", -34.604, -58.382, 15.4),
+            new City("Lagos", 6.524, 3.379, 15.4), new City("Cairo", 30.044, 31.236, 21.3),
+            new City("Johannesburg", -26.204, 28.047, 6.1), new City("Dubai", 25.205, 55.271, 3.5),
+            new City("Mumbai", 19.076, 72.878, 20.7), new City("Delhi", 28.704, 77.103, 32.0),
+            new City("Bangkok", 13.756, 100.502, 10.9), new City("Singapore", 1.352, 103.820, 5.9),
+            new City("Hong Kong", 22.320, 114.169, 7.5), new City("Shanghai", 31.230, 121.474, 28.5),
+            new City("Seoul", 37.567, 126.978, 9.9), new City("Tokyo", 35.676, 139.650, 37.2),
+            new City("Sydney", -33.869, 151.209, 5.3), new City("Melbourne", -37.814, 144.963, 5.1),
+            new City("Auckland", -36.849, 174.763, 1.7), new City("Reykjavik", 64.147, -21.942, 0.2)
+    };
+
+    private final long seed;
+    private final int restaurantCount;
+    private final Brand[] brands;
+    private final int[] homeCities;
+    // First restaurant ordinal of each brand, with the total in the last slot
+    private final long[] brandOffsets;
+    private final double[] cumulativePopulation;
+
+    DatasetGenerator(long seed, int brandCount, int restaurantCount, double chainExponent) {
+        if (brandCount <= 0 || restaurantCount < 0) {
+            throw new IllegalArgumentException("Expected at least one brand and no negative restaurant count");
+        }
+        this.seed = seed;
+        this.restaurantCount = restaurantCount;
+        this.cumulativePopulation = new double[CITIES.length];
+        double population = 0;
+        for (int c = 0; c < CITIES.length; c++) {
+            population += CITIES[c].population();
+            cumulativePopulation[c] = population;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        this.brands = new Brand[brandCount];
+        this.homeCities = new int[brandCount];
+        Set<String> names = new HashSet<>();
+        for (int b = 0; b < brandCount; b++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                    + " " + KINDS[random.nextInt(KINDS.length)];
+            String unique = name;
+            for (int n = 2; !names.add(unique); n++) {
+                unique = name + " " + n;
+            }
+            brands[b] = Brand.builder().id(timeOrderedId(b, random)).name(unique).build();
+            homeCities[b] = pickCity(random);
+        }
+        this.brandOffsets = chainOffsets(brandCount, restaurantCount, chainExponent);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArguments arguments = new LoadTestArguments(args);
+        String database = arguments.string("database", "postgres");
+        DatasetGenerator generator = new DatasetGenerator(
+                arguments.longValue("seed", 42),
+                arguments.integer("brands", 100_000),
+                arguments.integer("restaurants", 5_000_000),
+                arguments.decimal("chain-exponent", 1.0));
+
+        try (ConfigurableApplicationContext context = boot(database, arguments.string("h2-url", "jdbc:h2:file:./build/dataset/brand;MODE=PostgreSQL"))) {
+            DataSource dataSource = context.getBean(DataSource.class);
+            int producers = Math.min(
+                    arguments.integer("producers", Runtime.getRuntime().availableProcessors()),
+                    context.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+            boolean postgres = "postgres".equals(database);
+            if (Boolean.parseBoolean(arguments.string("truncate", "false"))) {
+                truncate(dataSource, postgres);
+            }
+            generator.write(dataSource, postgres, producers, arguments.integer("batch-size", 1000));
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(String database, String h2Url) {
+        List<String> properties = new ArrayList<>(List.of(
+                "--spring.jpa.hibernate.ddl-auto=update"));
+        switch (database) {
+            case "h2" -> properties.addAll(List.of(
+                    "--spring.datasource.url=" + h2Url,
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"));
+            case "postgres" -> {
+                // Uses the datasource from application.properties, DB_URL overrides the URL
+            }
+            default -> throw new IllegalArgumentException("Unknown database " + database + ", expected h2 or postgres");
+        }
+        return new SpringApplicationBuilder(BrandApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(properties.toArray(String[]::new));
+    }
+
+    private static void truncate(DataSource dataSource, boolean postgres) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("TRUNCATE restaurants, brand");
+            } else {
+                statement.execute("DELETE FROM restaurants");
+                statement.execute("DELETE FROM brand");
+            }
+        }
+    }
+
+    void write(DataSource dataSource, boolean postgres, int producers, int batchSize) throws Exception {
+        long start = System.nanoTime();
+        try (DatasetWriter writer = openWriter(dataSource, postgres, false, batchSize)) {
+            for (Brand brand : brands) {
+                writer.write(brand);
+            }
+            writer.finish();
+        }
+        System.out.printf("Wrote %d brands in %d ms%n", brands.length, (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        int chunks = (int) ((restaurantCount + CHUNK_SIZE - 1L) / CHUNK_SIZE);
+        AtomicInteger nextChunk = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                results.add(executor.submit(() -> {
+                    try (DatasetWriter writer = openWriter(dataSource, postgres, true, batchSize)) {
+                        for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                            writeChunk(chunk, writer);
+                        }
+                        writer.finish();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                // Rethrows the first producer failure
+                result.get();
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Wrote %d restaurants with %d producers in %d ms (%d rows/s)%n",
+                restaurantCount, producers, millis, millis == 0 ? restaurantCount : restaurantCount * 1000L / millis);
+
+        if (postgres) {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE brand");
+                statement.execute("ANALYZE restaurants");
+            }
+        }
+    }
+
+    private static DatasetWriter openWriter(DataSource dataSource, boolean postgres, boolean restaurants, int batchSize) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            if (!postgres) {
+                return new BatchDatasetWriter(connection, batchSize);
+            }
+            return restaurants ? CopyDatasetWriter.restaurants(connection) : CopyDatasetWriter.brands(connection);
+        } catch (SQLException ex) {
+            connection.close();
+            throw ex;
+        }
+    }
+
+    private void writeChunk(int chunk, DatasetWriter writer) throws SQLException {
+        SplittableRandom random = new SplittableRandom(mix(seed, chunk));
+        long from = (long) chunk * CHUNK_SIZE;
+        long to = Math.min(from + CHUNK_SIZE, restaurantCount);
+        int brandIndex = brandOf(from);
+        for (long ordinal = from; ordinal < to; ordinal++) {
+            while (ordinal >= brandOffsets[brandIndex + 1]) {
+                brandIndex++;
+            }
+            writer.write(restaurant(ordinal, brandIndex, random));
+        }
+    }
+
+    Restaurant restaurant(long ordinal, int brandIndex, SplittableRandom random) {
+        Brand brand = brands[brandIndex];
+        long chainSize = brandOffsets[brandIndex + 1] - brandOffsets[brandIndex];
+        boolean stayHome = chainSize <= HOME_CITY_CHAIN_SIZE && random.nextInt(10) < 8;
+        City city = CITIES[stayHome ? homeCities[brandIndex] : pickCity(random)];
+
+        // Roughly 10 km of spread around the centre, wider in longitude away from the equator
+        double latitude = Math.clamp(city.latitude() + random.nextGaussian() * 0.09, -90, 90);
+        double longitudeSpread = 0.09 / Math.max(0.2, Math.cos(Math.toRadians(city.latitude())));
+        double longitude = city.longitude() + random.nextGaussian() * longitudeSpread;
+        longitude = longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+
+        long branch = ordinal - brandOffsets[brandIndex] + 1;
+        return Restaurant.builder()
+                .id(timeOrderedId(brands.length + ordinal, random))
+                .name(brand.getName() + " " + city.name() + " #" + branch)
+                .address((1 + random.nextInt(300)) + " " + STREETS[random.nextInt(STREETS.length)] + ", " + city.name())
+                .latitude(latitude)
+                .longitude(longitude)
+                .brand(brand)
+                .build();
+    }
+
+    private int brandOf(long ordinal) {
+        int low = 0;
+        int high = brands.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (brandOffsets[middle] <= ordinal) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int pickCity(SplittableRandom random) {
+        double roll = random.nextDouble(cumulativePopulation[cumulativePopulation.length - 1]);
+        for (int c = 0; c < cumulativePopulation.length; c++) {
+            if (roll < cumulativePopulation[c]) {
+                return c;
+            }
+        }
+        return cumulativePopulation.length - 1;
+    }
+
+    // Zipf shares rounded down, the rounding remainder goes one each to the largest chains
+    static long[] chainOffsets(int brandCount, long restaurantCount, double exponent) {
+        double[] weights = new double[brandCount];
+        double total = 0;
+        for (int rank = 1; rank <= brandCount; rank++) {
+            weights[rank - 1] = Math.pow(rank, -exponent);
+            total += weights[rank - 1];
+        }
+        long[] sizes = new long[brandCount];
+        long assigned = 0;
+        for (int b = 0; b < brandCount; b++) {
+            sizes[b] = (long) Math.floor(restaurantCount * weights[b] / total);
+            assigned += sizes[b];
+        }
+        for (int b = 0; assigned < restaurantCount; b = (b + 1) % brandCount) {
+            sizes[b]++;
+            assigned++;
+        }
+
+        long[] offsets = new long[brandCount + 1];
+        for (int b = 0; b < brandCount; b++) {
+            offsets[b + 1] = offsets[b] + sizes[b];
+        }
+        return offsets;
+    }
+
+    // Version 7 layout with the ordinal standing in for the timestamp and counter, so ids sort in write order
+    private static UUID timeOrderedId(long ordinal, SplittableRandom random) {
+        long millis = BASE_MILLIS + (ordinal >>> 12);
+        long mostSignificantBits = millis << 16 | 0x7000L | (ordinal & 0xFFF);
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static long mix(long seed, long value) {
+        long z = seed + value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,25 @@
+package org.qrush.brand.load;
+
+import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.restaurant.models.Restaurant;
+
+import java.sql.SQLException;
+
+/**
+ * Writes generated brands and restaurants over one connection. Each {@link DatasetGenerator} producer owns
+ * its own writer.
+ */
+interface DatasetWriter extends AutoCloseable {
+
+    void write(Brand brand) throws SQLException;
+
+    void write(Restaurant restaurant) throws SQLException;
+
+    /**
+     * Sends anything still buffered and commits it.
+     */
+    void finish() throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,52 @@
+package org.qrush.brand.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line arguments of the load test drivers, passed through Gradle with
+ * {@code -PloadTestArgs="..."}.
+ */
+final class LoadTestArguments {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    LoadTestArguments(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int integer(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    long longValue(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+
+    double decimal(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+
+    List<Integer> integers(String name, String defaultValue) {
+        return Arrays.stream(string(name, defaultValue).split(",")).map(String::trim).map(Integer::parseInt).toList();
+    }
+
+    // Accepts ISO-8601 (PT30S) or plain seconds (30)
+    Duration duration(String name, String defaultValue) {
+        String value = string(name, defaultValue);
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,65 @@
+package org.qrush.brand.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Brands and restaurants created through the public API before a load test, so the drivers have ids and
+ * locations to query. Names carry a run id, so repeated runs against one database do not collide.
+ */
+record LoadTestFixtures(List<UUID> brandIds, List<double[]> locations) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final double[][] CITIES = {
+            {51.507, -0.128}, {53.481, -2.243}, {52.486, -1.890}, {55.953, -3.188}, {51.454, -2.588}
+    };
+
+    static LoadTestFixtures seed(HttpClient client, String baseUrl, int brands, int restaurantsPerBrand) throws IOException, InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Random random = new Random(42);
+        List<UUID> brandIds = new ArrayList<>(brands);
+        List<double[]> locations = new ArrayList<>(brands * restaurantsPerBrand);
+
+        for (int b = 0; b < brands; b++) {
+            JsonNode brand = post(client, baseUrl + "/brand", Map.of("name", "Load test brand " + runId + "-" + b));
+            UUID brandId = UUID.fromString(brand.get("id").asText());
+            brandIds.add(brandId);
+
+            for (int r = 0; r < restaurantsPerBrand; r++) {
+                double[] city = CITIES[random.nextInt(CITIES.length)];
+                double latitude = city[0] + random.nextGaussian() * 0.05;
+                double longitude = city[1] + random.nextGaussian() * 0.08;
+                post(client, baseUrl + "/brand/" + brandId + "/restaurant", Map.of(
+                        "name", "Load test restaurant " + r,
+                        "address", r + " High Street",
+                        "latitude", latitude,
+                        "longitude", longitude));
+                locations.add(new double[]{latitude, longitude});
+            }
+        }
+        return new LoadTestFixtures(brandIds, locations);
+    }
+
+    private static JsonNode post(HttpClient client, String url, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Seeding " + url + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body());
+    }
+}
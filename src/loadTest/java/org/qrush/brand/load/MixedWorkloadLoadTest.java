@@ -0,0 +1,331 @@
+package org.qrush.brand.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.qrush.brand.BrandApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop mixed workload test. Requests are started at a fixed rate whether or not earlier ones have
+ * completed. Latency is measured from when each request was due to be sent, so a stalled server shows up in
+ * the percentiles instead of quietly lowering the request rate (coordinated omission).
+ * <p>
+ * By default it boots the application in-process on a random port against an in-memory H2 database, seeds it
+ * through the API and drives {@code GET /brand/{id}}, paged {@code GET /brand}, {@code POST /brand} and
+ * {@code POST /brand/{id}/restaurant}. Throughput, p50/p99/p99.9 latency and error rate are reported per
+ * endpoint. The process exits with status 1 when a threshold is breached, so it can gate a release:
+ * <pre>
+ * ./gradlew mixedLoadTest -PloadTestArgs="--rate=1000 --duration=PT2M --max-p99-ms=50 --max-error-rate=0.001"
+ * </pre>
+ * Arguments: {@code --database} (h2, or postgres to boot against the local database configured in
+ * application.properties / {@code DB_URL}), {@code --base-url} (target an already running instance instead
+ * of booting one), {@code --rate} in requests per second (500), {@code --duration} (PT60S), {@code --warmup}
+ * (PT10S), {@code --mix} (get-brand:60,list-brands:25,create-brand:10,create-restaurant:5),
+ * {@code --brands} (100), {@code --restaurants-per-brand} (10), {@code --max-in-flight} (10000),
+ * {@code --max-p99-ms} and {@code --max-error-rate}.
+ */
+public class MixedWorkloadLoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    enum Endpoint {
+        GET_BRAND("get-brand", "GET /brand/{id}"),
+        LIST_BRANDS("list-brands", "GET /brand"),
+        CREATE_BRAND("create-brand", "POST /brand"),
+        CREATE_RESTAURANT("create-restaurant", "POST /brand/{id}/restaurant");
+
+        private final String argument;
+        private final String label;
+
+        Endpoint(String argument, String label) {
+            this.argument = argument;
+            this.label = label;
+        }
+
+        static Endpoint fromArgument(String argument) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.argument.equals(argument)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint " + argument);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArguments arguments = new LoadTestArguments(args);
+        ConfigurableApplicationContext application = null;
+        String baseUrl = arguments.string("base-url", null);
+        if (baseUrl == null) {
+            application = boot(arguments.string("database", "h2"));
+            int port = ((ServletWebServerApplicationContext) application).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        boolean passed;
+        try {
+            passed = run(arguments, baseUrl);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext boot(String database) {
+        List<String> properties = new ArrayList<>(List.of(
+                "--server.port=0"));
+        switch (database) {
+            case "h2" -> properties.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"));
+            case "postgres" -> {
+                // Uses the datasource from application.properties, DB_URL overrides the URL
+            }
+            default -> throw new IllegalArgumentException("Unknown database " + database + ", expected h2 or postgres");
+        }
+        return new SpringApplicationBuilder(BrandApplication.class).run(properties.toArray(String[]::new));
+    }
+
+    private static boolean run(LoadTestArguments arguments, String baseUrl) throws Exception {
+        int rate = arguments.integer("rate", 500);
+        Duration duration = arguments.duration("duration", "PT60S");
+        Duration warmup = arguments.duration("warmup", "PT10S");
+        Map<Endpoint, Integer> mix = parseMix(arguments.string("mix", "get-brand:60,list-brands:25,create-brand:10,create-restaurant:5"));
+        Semaphore inFlight = new Semaphore(arguments.integer("max-in-flight", 10_000));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        LoadTestFixtures fixtures = LoadTestFixtures.seed(client, baseUrl,
+                arguments.integer("brands", 100), arguments.integer("restaurants-per-brand", 10));
+        Workload workload = new Workload(baseUrl, fixtures, mix);
+
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long dueAt = startedAt + i * intervalNanos;
+                if (dueAt >= stopAt) {
+                    break;
+                }
+                long wait = dueAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Endpoint endpoint = workload.nextEndpoint();
+                boolean measured = dueAt >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    // The server has fallen this far behind, count it rather than queue without bound
+                    if (measured) {
+                        stats.get(endpoint).dropped.increment();
+                    }
+                    continue;
+                }
+                HttpRequest request = workload.request(endpoint);
+                executor.submit(() -> {
+                    try {
+                        boolean failed;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            failed = status >= 400;
+                        } catch (Exception ex) {
+                            failed = true;
+                        }
+                        if (measured) {
+                            stats.get(endpoint).record(System.nanoTime() - dueAt, failed);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+
+        return report(stats, rate, duration, arguments);
+    }
+
+    private static boolean report(Map<Endpoint, EndpointStats> stats, int rate, Duration duration, LoadTestArguments arguments) {
+        double seconds = duration.toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long totalDropped = 0;
+
+        System.out.printf("%nTarget rate %d requests/s for %s, errors include requests dropped at the in-flight limit%n", rate, duration);
+        System.out.printf("%-30s %10s %12s %10s %10s %10s %10s %8s %8s%n", "endpoint", "requests", "requests/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "dropped", "errors");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            long errors = endpointStats.errors.sum();
+            long dropped = endpointStats.dropped.sum();
+            total.add(endpointStats.latencies);
+            totalErrors += errors;
+            totalDropped += dropped;
+            System.out.println(row(entry.getKey().label, endpointStats.latencies, dropped, errors, seconds));
+        }
+        System.out.println(row("total", total, totalDropped, totalErrors, seconds));
+
+        boolean passed = true;
+        double p99 = millis(total.getValueAtPercentile(99));
+        double maxP99 = arguments.decimal("max-p99-ms", Double.NaN);
+        if (!Double.isNaN(maxP99) && p99 > maxP99) {
+            System.out.printf("FAILED: p99 %.1f ms is above %.1f ms%n", p99, maxP99);
+            passed = false;
+        }
+        double errorRate = errorRate(total.getTotalCount(), totalDropped, totalErrors);
+        double maxErrorRate = arguments.decimal("max-error-rate", Double.NaN);
+        if (!Double.isNaN(maxErrorRate) && errorRate > maxErrorRate) {
+            System.out.printf("FAILED: error rate %.4f is above %.4f%n", errorRate, maxErrorRate);
+            passed = false;
+        }
+        return passed;
+    }
+
+    private static String row(String label, Histogram histogram, long dropped, long errors, double seconds) {
+        long requests = histogram.getTotalCount();
+        return String.format("%-30s %10d %12.0f %10.1f %10.1f %10.1f %10.1f %8d %7.2f%%",
+                label, requests, requests / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                dropped, 100 * errorRate(requests, dropped, errors));
+    }
+
+    // Dropped requests never got a response, so they count as both attempts and errors
+    private static double errorRate(long completed, long dropped, long errors) {
+        long attempted = completed + dropped;
+        return attempted == 0 ? 0 : (errors + dropped) / (double) attempted;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Endpoint.fromArgument(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class EndpointStats {
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        private void record(long latencyNanos, boolean failed) {
+            latencies.recordValue(latencyNanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+
+    private static final class Workload {
+        private final String baseUrl;
+        private final LoadTestFixtures fixtures;
+        private final Endpoint[] endpoints;
+        private final int[] cumulativeWeights;
+        private final String runId = Long.toString(System.currentTimeMillis(), 36);
+        private final AtomicLong sequence = new AtomicLong();
+
+        private Workload(String baseUrl, LoadTestFixtures fixtures, Map<Endpoint, Integer> mix) {
+            this.baseUrl = baseUrl;
+            this.fixtures = fixtures;
+            this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+            this.cumulativeWeights = new int[endpoints.length];
+            int sum = 0;
+            for (int i = 0; i < endpoints.length; i++) {
+                sum += mix.get(endpoints[i]);
+                cumulativeWeights[i] = sum;
+            }
+            if (sum <= 0) {
+                throw new IllegalArgumentException("The workload mix needs at least one positive weight");
+            }
+        }
+
+        private Endpoint nextEndpoint() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return endpoints[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+
+        private HttpRequest request(Endpoint endpoint) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            UUID brandId = fixtures.brandIds().get(random.nextInt(fixtures.brandIds().size()));
+            // Created names are unique per run, so writes measure inserts rather than conflicts
+            long n = sequence.incrementAndGet();
+            return switch (endpoint) {
+                case GET_BRAND -> get("/brand/" + brandId);
+                case LIST_BRANDS -> get("/brand?pageNo=" + random.nextInt(10) + "&pageSize=20&withTotals=false");
+                case CREATE_BRAND -> post("/brand", Map.of("name", "Mixed load brand " + runId + "-" + n));
+                case CREATE_RESTAURANT -> {
+                    double[] location = fixtures.locations().get(random.nextInt(fixtures.locations().size()));
+                    yield post("/brand/" + brandId + "/restaurant", Map.of(
+                            "name", "Mixed load restaurant " + runId + "-" + n,
+                            "address", n + " Market Street",
+                            "latitude", location[0] + random.nextGaussian() * 0.01,
+                            "longitude", location[1] + random.nextGaussian() * 0.01));
+                }
+            };
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+        }
+
+        private HttpRequest post(String path, Map<String, Object> body) {
+            try {
+                return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                        .build();
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
@@ -2,7 +2,14 @@ package org.qrush.brand;
 
 import org.hibernate.service.spi.ServiceException;
 import org.qrush.brand.brand.exceptions.BrandAlreadyExists;
+import org.qrush.brand.brand.exceptions.BrandConcurrentModificationException;
 import org.qrush.brand.brand.exceptions.BrandNotFoundException;
+import org.qrush.brand.brand.exceptions.BrandVersionMismatchException;
+import org.qrush.brand.brand.exceptions.InvalidCursorException;
+import org.qrush.brand.brand.exceptions.InvalidIfMatchException;
+import org.qrush.brand.brand.exceptions.InvalidPageSizeException;
+import org.qrush.brand.brand.exceptions.MalformedBrandImportException;
+import org.qrush.brand.brand.exceptions.TooManyBrandIdsException;
 import org.qrush.brand.restaurant.exceptions.RestaurantAlreadyExists;
 import org.springframework.http.*;
 import org.springframework.validation.FieldError;
@@ -32,12 +39,61 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return problemDetail;
     }
 
+    @ExceptionHandler(BrandConcurrentModificationException.class)
+    public ProblemDetail handleBrandConcurrentModificationException(BrandConcurrentModificationException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+        problemDetail.setInstance(URI.create(request.getContextPath()));
+        return problemDetail;
+    }
+
+    @ExceptionHandler(BrandVersionMismatchException.class)
+    public ProblemDetail handleBrandVersionMismatchException(BrandVersionMismatchException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+        problemDetail.setInstance(URI.create(request.getContextPath()));
+        return problemDetail;
+    }
+
     @ExceptionHandler(RestaurantAlreadyExists.class)
     public ProblemDetail handleRestaurantAlreadyExists(RestaurantAlreadyExists ex, WebRequest request) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
         problemDetail.setInstance(URI.create(request.getContextPath()));
         return problemDetail;    }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problemDetail.setInstance(URI.create(request.getContextPath()));
+        return problemDetail;
+    }
+
+    @ExceptionHandler(InvalidIfMatchException.class)
+    public ProblemDetail handleInvalidIfMatchException(InvalidIfMatchException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problemDetail.setInstance(URI.create(request.getContextPath()));
+        return problemDetail;
+    }
+
+    @ExceptionHandler(InvalidPageSizeException.class)
+    public ProblemDetail handleInvalidPageSizeException(InvalidPageSizeException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problemDetail.setInstance(URI.create(request.getContextPath()));
+        return problemDetail;
+    }
+
+    @ExceptionHandler(MalformedBrandImportException.class)
+    public ProblemDetail handleMalformedBrandImportException(MalformedBrandImportException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problemDetail.setInstance(URI.create(request.getContextPath()));
+        return problemDetail;
+    }
+
+    @ExceptionHandler(TooManyBrandIdsException.class)
+    public ProblemDetail handleTooManyBrandIdsException(TooManyBrandIdsException ex, WebRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problemDetail.setInstance(URI.create(request.getContextPath()));
+        return problemDetail;
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode statusCode, WebRequest request) {
         var validationErrors = ex.getBindingResult().getFieldErrors().stream().collect(Collectors.toMap(FieldError::getField, FieldError::getDefaultMessage));
@@ -1,12 +1,25 @@
 package org.qrush.brand.brand;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.qrush.brand.brand.dto.BrandCursorResponse;
 import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandLookupRequest;
+import org.qrush.brand.brand.dto.BrandLookupResponse;
 import org.qrush.brand.brand.dto.BrandResponse;
+import org.qrush.brand.brand.dto.BulkBrandResult;
+import org.qrush.brand.brand.helpers.BrandETag;
+import org.qrush.brand.export.NdjsonExporter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -14,27 +27,63 @@ import java.util.UUID;
 public class BrandController {
 
     private final BrandService brandService;
+    private final BrandImportService brandImportService;
 
-    public BrandController(BrandService brandService) {
+    public BrandController(BrandService brandService, BrandImportService brandImportService) {
         this.brandService = brandService;
+        this.brandImportService = brandImportService;
     }
 
+    // GET responses carry an ETag. When it matches If-None-Match, Spring answers 304 and never serializes the body
     @GetMapping("/{id}")
     public ResponseEntity<BrandDto> getBrand(@PathVariable UUID id) {
-        return ResponseEntity.ok(brandService.getBrandById(id));
+        BrandDto brandDto = brandService.getBrandById(id);
+        return ResponseEntity.ok().eTag(BrandETag.of(brandDto)).body(brandDto);
     }
 
     @GetMapping()
     public ResponseEntity<BrandResponse> getAllBrands(
             @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize,
+            @RequestParam(value = "withTotals", defaultValue = "true", required = false) boolean withTotals
+    ) {
+        BrandResponse response = brandService.getAllBrands(pageNo, pageSize, withTotals);
+
+        if(response.getContent().isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok().eTag(BrandETag.of(response)).body(response);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<BrandCursorResponse> getBrandsAfterCursor(
+            @RequestParam(value = "cursor") String cursor,
             @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize
     ) {
-        BrandResponse response = brandService.getAllBrands(pageNo, pageSize);
+        BrandCursorResponse response = brandService.getBrandsAfter(cursor, pageSize);
 
         if(response.getContent().isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        return ResponseEntity.ok(brandService.getAllBrands(pageNo, pageSize));
+        return ResponseEntity.ok().eTag(BrandETag.of(response)).body(response);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<BrandLookupResponse> getBrandsByIds(@RequestParam(value = "ids") List<UUID> ids) {
+        return ResponseEntity.ok(brandService.getBrandsByIds(ids));
+    }
+
+    // Same as GET /brand?ids=..., for id sets too long for a query string
+    @PostMapping("/lookup")
+    public ResponseEntity<BrandLookupResponse> lookupBrands(@RequestBody @Valid BrandLookupRequest brandLookupRequest) {
+        return ResponseEntity.ok(brandService.getBrandsByIds(brandLookupRequest.getIds()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportBrands(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding, HttpServletResponse response) throws IOException {
+        try (OutputStream out = NdjsonExporter.openResponse(response, acceptEncoding)) {
+            brandService.exportBrands(out);
+        }
     }
 
     @PostMapping()
@@ -42,9 +91,20 @@ public class BrandController {
         return new ResponseEntity<>(brandService.createBrand(brandDto), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<List<BulkBrandResult>> createBrands(InputStream body) throws IOException {
+        return ResponseEntity.ok(brandImportService.importBrands(body));
+    }
+
+    // With If-Match the rename is one conditional UPDATE, answered with 412 once the brand has moved past that ETag
     @PutMapping("/{id}")
-    public ResponseEntity<BrandDto> updateBrand(@PathVariable UUID id, @RequestBody @Valid BrandDto brandDto) {
-        return new ResponseEntity<>(brandService.updateBrand(brandDto,id), HttpStatus.OK);
+    public ResponseEntity<BrandDto> updateBrand(@PathVariable UUID id, @RequestBody @Valid BrandDto brandDto,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = BrandETag.parseVersion(ifMatch);
+        BrandDto updatedBrand = expectedVersion == null
+                ? brandService.updateBrand(brandDto, id)
+                : brandService.updateBrand(brandDto, id, expectedVersion);
+        return ResponseEntity.ok().eTag(BrandETag.of(updatedBrand)).body(updatedBrand);
     }
 
     @DeleteMapping("/{id}/delete")
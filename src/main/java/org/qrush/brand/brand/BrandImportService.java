@@ -0,0 +1,147 @@
+package org.qrush.brand.brand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BulkBrandResult;
+import org.qrush.brand.brand.exceptions.MalformedBrandImportException;
+import org.qrush.brand.brand.models.Brand;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Creates brands in bulk from a JSON array or an NDJSON stream. The body is read incrementally and handled in
+ * chunks: each chunk checks existing names with one set-based query and inserts the new brands through
+ * Hibernate's JDBC batching, in its own transaction.
+ */
+@Service
+public class BrandImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final BrandRepository brandRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public BrandImportService(BrandRepository brandRepository, ObjectMapper objectMapper, Validator validator, EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.brandRepository = brandRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public List<BulkBrandResult> importBrands(InputStream body) throws IOException {
+        List<BulkBrandResult> results = new ArrayList<>();
+        Set<String> namesInRequest = new HashSet<>();
+        List<BrandDto> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        // readValues walks the elements of a root-level array as well as a stream of whitespace separated values
+        try (MappingIterator<BrandDto> brands = objectMapper.readerFor(BrandDto.class).readValues(body)) {
+            while (nextBrand(brands, results.size() + chunk.size(), chunk)) {
+                if (chunk.size() == CHUNK_SIZE) {
+                    results.addAll(importChunk(results.size(), chunk, namesInRequest));
+                    chunk.clear();
+                }
+            }
+        }
+        results.addAll(importChunk(results.size(), chunk, namesInRequest));
+
+        return results;
+    }
+
+    private boolean nextBrand(MappingIterator<BrandDto> brands, int index, List<BrandDto> chunk) {
+        try {
+            if (!brands.hasNextValue()) {
+                return false;
+            }
+            chunk.add(brands.nextValue());
+            return true;
+        } catch (JsonProcessingException ex) {
+            throw new MalformedBrandImportException(String.format("Malformed brand at index %d", index), ex);
+        } catch (IOException ex) {
+            throw new MalformedBrandImportException("Could not read brands", ex);
+        }
+    }
+
+    private List<BulkBrandResult> importChunk(int firstIndex, List<BrandDto> chunk, Set<String> namesInRequest) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        BulkBrandResult[] results = new BulkBrandResult[chunk.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BrandDto brandDto = chunk.get(i);
+            Set<ConstraintViolation<BrandDto>> violations = validator.validate(brandDto);
+
+            if (!violations.isEmpty()) {
+                results[i] = result(firstIndex + i, brandDto.getName(), BulkBrandResult.Status.INVALID, violations.iterator().next().getMessage());
+            } else if (!namesInRequest.add(brandDto.getName())) {
+                results[i] = result(firstIndex + i, brandDto.getName(), BulkBrandResult.Status.DUPLICATE_IN_REQUEST, "Brand name appears more than once in the request");
+            } else {
+                candidates.put(brandDto.getName(), i);
+            }
+        }
+
+        try {
+            insertNewBrands(firstIndex, candidates, results);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer created one of the names between the check and the insert, so check again
+            insertNewBrands(firstIndex, candidates, results);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void insertNewBrands(int firstIndex, Map<String, Integer> candidates, BulkBrandResult[] results) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> existingNames = candidates.isEmpty() ? Set.of() : brandRepository.findExistingNames(candidates.keySet());
+
+            List<Brand> newBrands = new ArrayList<>(candidates.size());
+            for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+                int i = candidate.getValue();
+                if (existingNames.contains(candidate.getKey())) {
+                    results[i] = result(firstIndex + i, candidate.getKey(), BulkBrandResult.Status.ALREADY_EXISTS, "Brand name already exists");
+                } else {
+                    newBrands.add(Brand.builder().name(candidate.getKey()).build());
+                }
+            }
+
+            // Flush the batched inserts through the repository, so a unique violation surfaces as a translated
+            // DataIntegrityViolationException, then detach them so the persistence context does not grow with the import
+            brandRepository.saveAllAndFlush(newBrands);
+            entityManager.clear();
+
+            for (Brand brand : newBrands) {
+                int i = candidates.get(brand.getName());
+                results[i] = BulkBrandResult.builder()
+                        .index(firstIndex + i)
+                        .name(brand.getName())
+                        .id(brand.getId())
+                        .status(BulkBrandResult.Status.CREATED)
+                        .build();
+            }
+        });
+    }
+
+    private static BulkBrandResult result(int index, String name, BulkBrandResult.Status status, String message) {
+        return BulkBrandResult.builder()
+                .index(index)
+                .name(name)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
@@ -1,12 +1,66 @@
 package org.qrush.brand.brand;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.qrush.brand.brand.dto.BrandDto;
 import org.qrush.brand.brand.models.Brand;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface BrandRepository extends JpaRepository<Brand, UUID> {
     Optional<Brand> findByName(String name);
-}
 
+    Slice<Brand> findAllBy(Pageable pageable);
+
+    List<Brand> findAllByOrderByIdAsc(Limit limit);
+
+    List<Brand> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    @Query("select new org.qrush.brand.brand.dto.BrandDto(b.id, b.name, b.version) from Brand b where b.id in :ids")
+    List<BrandDto> findDtosByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select b.name from Brand b where b.name in :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    // Inserts in one statement and lets the unique name constraint decide, returns 0 when the name is taken
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO brand (id, name, version) VALUES (:id, :name, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("name") String name);
+
+    // Renames and bumps the version in one statement, returns 0 when the brand is missing or no longer at that version
+    @Transactional
+    @Modifying
+    @Query("update Brand b set b.name = :name, b.version = b.version + 1 where b.id = :id and b.version = :version")
+    int updateNameIfVersion(@Param("id") UUID id, @Param("name") String name, @Param("version") long version);
+
+    // Forward-only read of every brand as a DTO projection, so the persistence context stays empty
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new org.qrush.brand.brand.dto.BrandDto(b.id, b.name, b.version) from Brand b")
+    Stream<BrandDto> streamAll();
+
+    // Forward-only read of every brand id, for rebuilding the in-memory id filter
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b.id from Brand b")
+    Stream<UUID> streamAllIds();
+}
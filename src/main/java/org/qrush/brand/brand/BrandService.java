@@ -1,35 +1,120 @@
 package org.qrush.brand.brand;
 
+import org.qrush.brand.brand.cache.BrandCache;
+import org.qrush.brand.brand.dto.BrandCursorResponse;
 import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandLookupResponse;
 import org.qrush.brand.brand.dto.BrandResponse;
 import org.qrush.brand.brand.exceptions.BrandAlreadyExists;
+import org.qrush.brand.brand.exceptions.BrandConcurrentModificationException;
 import org.qrush.brand.brand.exceptions.BrandNotFoundException;
+import org.qrush.brand.brand.exceptions.BrandVersionMismatchException;
+import org.qrush.brand.brand.exceptions.InvalidPageSizeException;
+import org.qrush.brand.brand.exceptions.TooManyBrandIdsException;
+import org.qrush.brand.brand.filter.BrandIdFilter;
+import org.qrush.brand.brand.helpers.BrandCursor;
 import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.export.NdjsonExporter;
+import org.qrush.brand.id.TimeOrderedUuid;
+import org.qrush.brand.timing.ServerTimings;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BrandService {
 
+    // Keeps the IN list of a single lookup query within what the database plans well
+    public static final int MAX_LOOKUP_IDS = 500;
+    public static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final BrandRepository brandRepository;
+    private final BrandCache brandCache;
+    private final NdjsonExporter ndjsonExporter;
+    private final BrandIdFilter brandIdFilter;
 
-    public BrandService(BrandRepository brandRepository) {
+    public BrandService(BrandRepository brandRepository, BrandCache brandCache, NdjsonExporter ndjsonExporter, BrandIdFilter brandIdFilter) {
         this.brandRepository = brandRepository;
+        this.brandCache = brandCache;
+        this.ndjsonExporter = ndjsonExporter;
+        this.brandIdFilter = brandIdFilter;
     }
 
     public BrandDto getBrandById(UUID id) {
-       Brand brand = brandRepository.findById(id).orElseThrow(() -> new BrandNotFoundException("Brand could not be found"));
-       return mapToDto(brand);
+       if (!brandIdFilter.mightExist(id)) {
+           throw new BrandNotFoundException("Brand could not be found");
+       }
+       return brandCache.getById(id, this::loadBrand)
+               .orElseThrow(() -> new BrandNotFoundException("Brand could not be found"));
+    }
+
+    /**
+     * Resolves many brands at once. Cached brands are served from the cache and the rest are read with a
+     * single {@code IN} query, so a client can replace one request per id with one request in total.
+     */
+    public BrandLookupResponse getBrandsByIds(Collection<UUID> ids) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_LOOKUP_IDS) {
+            throw new TooManyBrandIdsException(String.format("At most %d brand ids can be looked up at once", MAX_LOOKUP_IDS));
+        }
+
+        // Ids the filter knows do not exist are reported missing without being looked up
+        List<UUID> candidateIds = distinctIds.stream().filter(brandIdFilter::mightExist).toList();
+        Map<UUID, BrandDto> found = candidateIds.isEmpty() ? Map.of() : brandCache.getAllById(candidateIds, this::loadBrands);
+
+        List<BrandDto> content = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>(distinctIds.size() - found.size());
+        for (UUID id : distinctIds) {
+            BrandDto brandDto = found.get(id);
+            if (brandDto != null) {
+                content.add(brandDto);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        BrandLookupResponse brandLookupResponse = new BrandLookupResponse();
+        brandLookupResponse.setContent(content);
+        brandLookupResponse.setMissing(missing);
+        return brandLookupResponse;
+    }
+
+    /**
+     * Returns an uninitialised reference to the brand without querying it, for use as the owner of a new
+     * association. Ids the brand id filter rejects fail here, whether any other brand exists is left to the
+     * foreign key.
+     */
+    public Brand getBrandReference(UUID id) {
+        if (!brandIdFilter.mightExist(id)) {
+            throw new BrandNotFoundException("Brand could not be found");
+        }
+        return brandRepository.getReferenceById(id);
     }
 
     public BrandResponse getAllBrands(int pageNumber, int pageSize) {
+        return getAllBrands(pageNumber, pageSize, true);
+    }
+
+    public BrandResponse getAllBrands(int pageNumber, int pageSize, boolean withTotals) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        Page<Brand> brands = brandRepository.findAll(pageable);
+        // A Slice only reads one row past the page to work out "last", so no COUNT query is issued
+        Slice<Brand> brands = withTotals ? brandRepository.findAll(pageable) : brandRepository.findAllBy(pageable);
         List<Brand> listOfBrands = brands.getContent();
         List<BrandDto> content = listOfBrands.stream().map(this::mapToDto).toList();
 
@@ -37,57 +122,158 @@ public class BrandService {
         brandResponse.setContent(content);
         brandResponse.setPageNumber(brands.getNumber());
         brandResponse.setPageSize(brands.getSize());
-        brandResponse.setTotalElements(brands.getTotalElements());
-        brandResponse.setTotalPages(brands.getTotalPages());
         brandResponse.setLast(brands.isLast());
 
+        if (brands instanceof Page<Brand> page) {
+            brandResponse.setTotalElements(page.getTotalElements());
+            brandResponse.setTotalPages(page.getTotalPages());
+        }
+
         return brandResponse;
     }
 
-    public BrandDto createBrand(BrandDto brandDto) {
-        if (checkBrandNameExists(brandDto)) {
-            throw new BrandAlreadyExists("Brand name already exists");
+    public BrandCursorResponse getBrandsAfter(String cursor, int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidPageSizeException(String.format("Page size must be between 1 and %d", MAX_CURSOR_PAGE_SIZE));
         }
 
-        Brand brand = new Brand();
-        brand.setName(brandDto.getName());
+        // Fetch one extra row to learn whether there is a next page without running a COUNT
+        Limit limit = Limit.of(pageSize + 1);
+        List<Brand> brands = cursor.isBlank()
+                ? brandRepository.findAllByOrderByIdAsc(limit)
+                : brandRepository.findByIdGreaterThanOrderByIdAsc(BrandCursor.decode(cursor), limit);
 
-        Brand newBrand = brandRepository.save(brand);
+        boolean hasNext = brands.size() > pageSize;
+        List<BrandDto> content = brands.stream().limit(pageSize).map(this::mapToDto).toList();
+
+        BrandCursorResponse brandCursorResponse = new BrandCursorResponse();
+        brandCursorResponse.setContent(content);
+        brandCursorResponse.setPageSize(pageSize);
+        brandCursorResponse.setNext(hasNext ? BrandCursor.encode(content.getLast().getId()) : null);
+
+        return brandCursorResponse;
+    }
+
+    public long exportBrands(OutputStream out) {
+        return ndjsonExporter.export(brandRepository::streamAll, BrandDto.class, out);
+    }
+
+    public BrandDto createBrand(BrandDto brandDto) {
+        ServerTimings.phase("validate");
+
+        // A single insert-if-absent, so concurrent creates of one name cannot both pass a separate existence check
+        UUID id = TimeOrderedUuid.next();
+        // The native insert bypasses the entity listener, and the id has to be known before the row is visible
+        brandIdFilter.add(id);
+        int inserted = brandRepository.insertIfAbsent(id, brandDto.getName());
+        ServerTimings.phase("insert");
+        if (inserted == 0) {
+            brandIdFilter.remove(id);
+            throw new BrandAlreadyExists("Brand name already exists");
+        }
 
         BrandDto brandResponse = new BrandDto();
-        brandResponse.setId(newBrand.getId());
-        brandResponse.setName(newBrand.getName());
+        brandResponse.setId(id);
+        brandResponse.setName(brandDto.getName());
+        brandResponse.setVersion(0L);
         return brandResponse;
     }
 
     public BrandDto updateBrand(BrandDto brandDto, UUID id) {
+        ServerTimings.phase("validate");
         Brand brand = brandRepository.findById(id).orElseThrow(() -> new BrandNotFoundException("Brand not found"));
+        ServerTimings.phase("lookup");
 
-        if (checkBrandNameExists(brandDto)) {
+        boolean nameTaken = checkBrandNameExists(brandDto);
+        ServerTimings.phase("duplicate-check");
+        if (nameTaken) {
             throw new BrandAlreadyExists("Brand name already exists");
         }
 
+        String previousName = brand.getName();
         brand.setName(brandDto.getName());
 
-        Brand updatedBrand = brandRepository.save(brand);
+        Brand updatedBrand;
+        try {
+            updatedBrand = brandRepository.save(brand);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            // Another update committed between the read and this save, the version column stops it being overwritten
+            throw new BrandConcurrentModificationException("Brand was modified concurrently, retry the update", ex);
+        }
+        brandCache.evict(id, previousName);
+        ServerTimings.phase("update");
         return mapToDto(updatedBrand);
     }
 
+    /**
+     * Renames the brand only if it is still at {@code expectedVersion}, as a single conditional UPDATE without
+     * reading it first. The unique name constraint stands in for the duplicate name lookup, and only an update
+     * that matched no row reads again, to tell a stale version from a missing brand.
+     */
+    public BrandDto updateBrand(BrandDto brandDto, UUID id, long expectedVersion) {
+        ServerTimings.phase("validate");
+        if (!brandIdFilter.mightExist(id)) {
+            throw new BrandNotFoundException("Brand not found");
+        }
+
+        int updated;
+        try {
+            updated = brandRepository.updateNameIfVersion(id, brandDto.getName(), expectedVersion);
+        } catch (DataIntegrityViolationException ex) {
+            ServerTimings.phase("update");
+            throw new BrandAlreadyExists("Brand name already exists");
+        }
+        ServerTimings.phase("update");
+
+        if (updated == 0) {
+            if (brandRepository.existsById(id)) {
+                throw new BrandVersionMismatchException("Brand has been modified since it was read");
+            }
+            throw new BrandNotFoundException("Brand not found");
+        }
+
+        brandCache.evict(id);
+        BrandDto updatedBrand = new BrandDto();
+        updatedBrand.setId(id);
+        updatedBrand.setName(brandDto.getName());
+        updatedBrand.setVersion(expectedVersion + 1);
+        return updatedBrand;
+    }
+
     public void deleteBrand(UUID id) {
        Brand brand = brandRepository.findById(id).orElseThrow(() -> new BrandNotFoundException("Brand not found"));
        brandRepository.delete(brand);
+       brandCache.evict(id, brand.getName());
+    }
+
+    private BrandDto loadBrand(UUID id) {
+        BrandDto brandDto = brandRepository.findById(id).map(this::mapToDto).orElse(null);
+        if (brandDto == null) {
+            brandIdFilter.recordFalsePositive();
+        }
+        return brandDto;
+    }
+
+    private Map<UUID, BrandDto> loadBrands(Set<UUID> ids) {
+        Map<UUID, BrandDto> brands = brandRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(BrandDto::getId, Function.identity()));
+        for (int i = brands.size(); i < ids.size(); i++) {
+            brandIdFilter.recordFalsePositive();
+        }
+        return brands;
     }
 
     private BrandDto mapToDto(Brand brand) {
         BrandDto brandDto = new BrandDto();
         brandDto.setId(brand.getId());
         brandDto.setName(brand.getName());
+        brandDto.setVersion(brand.getVersion());
         return brandDto;
     }
 
     private boolean checkBrandNameExists(BrandDto brandDto) {
-        var existingBrand = brandRepository.findByName(brandDto.getName()).orElse(null);
-        return existingBrand != null;
+        return brandCache.getIdByName(brandDto.getName(), name -> brandRepository.findByName(name).map(Brand::getId).orElse(null))
+                .isPresent();
     }
 }
 
@@ -0,0 +1,173 @@
+package org.qrush.brand.brand.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-aware near-cache in front of brand lookups by id and by name.
+ * <p>
+ * Entries are futures, so concurrent lookups of a key that is still loading share that one load and all see
+ * its result or exception instead of each querying the database. The caller that inserts the future runs the
+ * loader on its own thread, outside of the cache's locks, so a slow query never pins a virtual thread or
+ * blocks lookups of other keys. Failed and {@code null} loads are not cached. An invalidation issued after a
+ * write commits also drops an in-flight load, so a read that started before the write cannot cache the old
+ * value. Cached {@link BrandDto}s are shared and must be treated as read-only.
+ * <p>
+ * Hit, miss and eviction counts are published as the {@code cache.*} meters, tagged {@code brand.byId} and
+ * {@code brand.byName}, and lookups that joined another caller's load as {@code brand.cache.coalesced}.
+ */
+@Component
+public class BrandCache implements MeterBinder {
+
+    private final AsyncCache<UUID, BrandDto> brandsById;
+    private final AsyncCache<String, UUID> brandIdsByName;
+    // Reverse of brandIdsByName, so a brand's name entry can be evicted by id. Entries leave with their name entry
+    private final Map<UUID, String> namesById = new ConcurrentHashMap<>();
+    private final LongAdder byIdCoalesced = new LongAdder();
+    private final LongAdder byNameCoalesced = new LongAdder();
+
+    public BrandCache(@Value("${brand.cache.maximum-size:10000}") long maximumSize,
+                      @Value("${brand.cache.ttl:PT10M}") Duration ttl) {
+        this.brandsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.brandIdsByName = Caffeine.newBuilder()
+                .removalListener((String name, UUID id, RemovalCause cause) -> {
+                    if (id != null) {
+                        namesById.remove(id, name);
+                    }
+                })
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<BrandDto> getById(UUID id, Function<UUID, BrandDto> loader) {
+        return Optional.ofNullable(load(brandsById, id, loader, byIdCoalesced));
+    }
+
+    /**
+     * Returns the cached brands among {@code ids} and loads the rest with one call to {@code loader}. Ids the
+     * loader does not return are left out of the result and not cached.
+     */
+    public Map<UUID, BrandDto> getAllById(Iterable<UUID> ids, Function<Set<UUID>, Map<UUID, BrandDto>> loader) {
+        return join(brandsById.getAll(ids, (missingIds, executor) -> {
+            try {
+                return CompletableFuture.completedFuture(loader.apply(Collections.unmodifiableSet(missingIds)));
+            } catch (RuntimeException | Error ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }));
+    }
+
+    public Optional<UUID> getIdByName(String name, Function<String, UUID> loader) {
+        return Optional.ofNullable(load(brandIdsByName, name, key -> {
+            UUID id = loader.apply(key);
+            if (id != null) {
+                namesById.put(id, key);
+            }
+            return id;
+        }, byNameCoalesced));
+    }
+
+    public void evict(UUID id, String name) {
+        brandsById.synchronous().invalidate(id);
+        brandIdsByName.synchronous().invalidate(name);
+        namesById.remove(id, name);
+    }
+
+    /**
+     * Evicts the brand when its previous name is not known, finding its name entry through the reverse index
+     * instead of scanning the name cache. Meant for writes that no longer read the brand first.
+     */
+    public void evict(UUID id) {
+        brandsById.synchronous().invalidate(id);
+        String name = namesById.remove(id);
+        if (name != null) {
+            brandIdsByName.synchronous().invalidate(name);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, brandsById, "brand.byId");
+        CaffeineCacheMetrics.monitor(registry, brandIdsByName, "brand.byName");
+        FunctionCounter.builder("brand.cache.coalesced", byIdCoalesced, LongAdder::sum)
+                .tag("cache", "brand.byId")
+                .description("Lookups that waited for another caller's in-flight load instead of loading themselves")
+                .register(registry);
+        FunctionCounter.builder("brand.cache.coalesced", byNameCoalesced, LongAdder::sum)
+                .tag("cache", "brand.byName")
+                .description("Lookups that waited for another caller's in-flight load instead of loading themselves")
+                .register(registry);
+    }
+
+    public CacheStats byIdStats() {
+        return brandsById.synchronous().stats();
+    }
+
+    public CacheStats byNameStats() {
+        return brandIdsByName.synchronous().stats();
+    }
+
+    public long byIdCoalescedCount() {
+        return byIdCoalesced.sum();
+    }
+
+    public long byNameCoalescedCount() {
+        return byNameCoalesced.sum();
+    }
+
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Function<K, V> loader, LongAdder coalesced) {
+        CompletableFuture<V> ownLoad = new CompletableFuture<>();
+        CompletableFuture<V> entry = cache.get(key, (k, executor) -> ownLoad);
+        if (entry == ownLoad) {
+            try {
+                ownLoad.complete(loader.apply(key));
+            } catch (RuntimeException | Error ex) {
+                ownLoad.completeExceptionally(ex);
+            }
+        } else if (!entry.isDone()) {
+            coalesced.increment();
+        }
+        return join(entry);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
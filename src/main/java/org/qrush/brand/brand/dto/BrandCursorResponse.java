@@ -0,0 +1,18 @@
+package org.qrush.brand.brand.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrandCursorResponse {
+    private List<BrandDto> content;
+    private int pageSize;
+    private String next;
+}
@@ -1,8 +1,10 @@
 package org.qrush.brand.brand.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.NotEmpty;
@@ -21,10 +23,16 @@ public class BrandDto {
     @NotEmpty(message = "Brand name cannot be null or empty")
     private String name;
 
+    // Sent as the ETag header rather than in the body, and like the header not part of the value
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
     public Brand toBrand () {
         return Brand.builder()
                 .name(name)
                 .id(id)
+                .version(version)
                 .build();
     }
 }
@@ -0,0 +1,19 @@
+package org.qrush.brand.brand.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrandLookupRequest {
+    @NotNull(message = "Brand ids cannot be null")
+    private List<UUID> ids;
+}
@@ -0,0 +1,19 @@
+package org.qrush.brand.brand.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrandLookupResponse {
+    // Found brands and missing ids, each in the order they were requested
+    private List<BrandDto> content;
+    private List<UUID> missing;
+}
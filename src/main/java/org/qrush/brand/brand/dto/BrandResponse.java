@@ -1,5 +1,6 @@
 package org.qrush.brand.brand.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +16,13 @@ public class BrandResponse {
     private List<BrandDto> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+
+    // Left out of slice responses (withTotals=false), which skip the COUNT query
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+
     private boolean last;
 }
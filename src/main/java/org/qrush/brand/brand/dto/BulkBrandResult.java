@@ -0,0 +1,30 @@
+package org.qrush.brand.brand.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkBrandResult {
+
+    public enum Status {
+        CREATED,
+        ALREADY_EXISTS,
+        DUPLICATE_IN_REQUEST,
+        INVALID
+    }
+
+    private int index;
+    private String name;
+    private UUID id;
+    private Status status;
+    private String message;
+}
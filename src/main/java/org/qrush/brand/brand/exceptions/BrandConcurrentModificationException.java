@@ -0,0 +1,7 @@
+package org.qrush.brand.brand.exceptions;
+
+public class BrandConcurrentModificationException extends RuntimeException {
+    public BrandConcurrentModificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package org.qrush.brand.brand.exceptions;
+
+public class BrandVersionMismatchException extends RuntimeException {
+    public BrandVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.qrush.brand.brand.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.qrush.brand.brand.exceptions;
+
+public class InvalidIfMatchException extends RuntimeException {
+    public InvalidIfMatchException(String message) {
+        super(message);
+    }
+}
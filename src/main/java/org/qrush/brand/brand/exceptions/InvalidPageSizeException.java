@@ -0,0 +1,7 @@
+package org.qrush.brand.brand.exceptions;
+
+public class InvalidPageSizeException extends RuntimeException {
+    public InvalidPageSizeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.qrush.brand.brand.exceptions;
+
+public class MalformedBrandImportException extends RuntimeException {
+    public MalformedBrandImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
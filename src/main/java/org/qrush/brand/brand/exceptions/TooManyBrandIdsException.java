@@ -0,0 +1,7 @@
+package org.qrush.brand.brand.exceptions;
+
+public class TooManyBrandIdsException extends RuntimeException {
+    public TooManyBrandIdsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,116 @@
+package org.qrush.brand.brand.filter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory guard in front of brand lookups that answers "this brand id certainly does not exist" without a
+ * database query, so requests for random or stale ids can be turned into a 404 straight away.
+ * <p>
+ * It is filled from the repository at start-up by {@link BrandIdFilterLoader} and kept current by
+ * {@link BrandIdFilterEventListener} and {@link org.qrush.brand.brand.BrandService#createBrand}. Until the
+ * start-up load has finished, and when the filter is disabled, every id is reported as possibly present. Like
+ * the restaurant spatial index it only sees brands written through this instance, so a brand written anywhere
+ * else would be reported as missing; it is off unless {@code brand.id-filter.enabled=true}.
+ * <p>
+ * Published as {@code brand.id-filter.*}: the number of entries, the memory held, the expected false positive
+ * rate, lookups rejected by the filter, and lookups it let through for brands that turned out not to exist.
+ * The observed false positive rate is {@code false-positives / (false-positives + rejected)}.
+ */
+@Component
+public class BrandIdFilter implements MeterBinder {
+
+    private final boolean enabled;
+    private final CountingBloomFilter filter;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile boolean loaded;
+
+    public BrandIdFilter(@Value("${brand.id-filter.enabled:false}") boolean enabled,
+                         @Value("${brand.id-filter.expected-brands:1000000}") long expectedBrands,
+                         @Value("${brand.id-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.enabled = enabled;
+        this.filter = new CountingBloomFilter(enabled ? expectedBrands : 1, falsePositiveRate);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns false only if no brand with {@code id} exists, and counts the lookup as rejected.
+     */
+    public boolean mightExist(UUID id) {
+        if (!loaded || filter.mightContain(id)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void add(UUID id) {
+        if (enabled) {
+            filter.add(id);
+        }
+    }
+
+    public void remove(UUID id) {
+        // Before the start-up load has added every brand a removal could take counters of other brands to zero
+        if (loaded) {
+            filter.remove(id);
+        }
+    }
+
+    /**
+     * Records that an id passed the filter but no brand was found for it.
+     */
+    public void recordFalsePositive() {
+        if (loaded) {
+            falsePositives.increment();
+        }
+    }
+
+    public long entries() {
+        return filter.entries();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long falsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    public void markLoaded() {
+        loaded = enabled;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("brand.id-filter.entries", filter, CountingBloomFilter::entries)
+                .description("Brand ids added to the filter and not removed since")
+                .register(registry);
+        Gauge.builder("brand.id-filter.memory", filter, CountingBloomFilter::memoryBytes)
+                .description("Memory held by the filter's counters")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("brand.id-filter.expected-false-positive-rate", filter, CountingBloomFilter::expectedFalsePositiveRate)
+                .description("Expected share of unknown brand ids the filter lets through, given its current entries")
+                .register(registry);
+        FunctionCounter.builder("brand.id-filter.rejected", rejected, LongAdder::sum)
+                .description("Lookups answered as not found by the filter without a database query")
+                .register(registry);
+        FunctionCounter.builder("brand.id-filter.false-positives", falsePositives, LongAdder::sum)
+                .description("Lookups the filter let through for brands that do not exist")
+                .register(registry);
+    }
+}
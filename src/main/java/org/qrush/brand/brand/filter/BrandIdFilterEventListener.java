@@ -0,0 +1,60 @@
+package org.qrush.brand.brand.filter;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.qrush.brand.brand.models.Brand;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link BrandIdFilter} in step with brands written through JPA, including the bulk import.
+ * <p>
+ * Ids are added as soon as the insert is flushed, before it commits, so a brand is never visible in the
+ * database while the filter still rejects it; a rolled back insert only leaves a false positive behind. Ids
+ * are removed once the delete has committed, so a rolled back delete leaves the brand findable.
+ */
+@Component
+public class BrandIdFilterEventListener implements PostInsertEventListener, PostCommitDeleteEventListener {
+
+    private final transient BrandIdFilter brandIdFilter;
+
+    public BrandIdFilterEventListener(BrandIdFilter brandIdFilter, EntityManagerFactory entityManagerFactory) {
+        this.brandIdFilter = brandIdFilter;
+
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getEventEngine()
+                .getListenerRegistry();
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Brand brand) {
+            brandIdFilter.add(brand.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Brand brand) {
+            brandIdFilter.remove(brand.getId());
+        }
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // The brand still exists, so its id stays in the filter
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Brand.class.equals(persister.getMappedClass());
+    }
+}
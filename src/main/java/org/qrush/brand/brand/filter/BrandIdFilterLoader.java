@@ -0,0 +1,45 @@
+package org.qrush.brand.brand.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.qrush.brand.brand.BrandRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BrandIdFilterLoader implements ApplicationRunner {
+
+    private final BrandRepository brandRepository;
+    private final BrandIdFilter brandIdFilter;
+    private final TransactionTemplate transactionTemplate;
+
+    public BrandIdFilterLoader(BrandRepository brandRepository, BrandIdFilter brandIdFilter, TransactionTemplate transactionTemplate) {
+        this.brandRepository = brandRepository;
+        this.brandIdFilter = brandIdFilter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!brandIdFilter.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        // Brands inserted while this runs are added by the event listener as well, so none can be missed
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<UUID> ids = brandRepository.streamAllIds()) {
+                ids.forEach(brandIdFilter::add);
+            }
+        });
+        brandIdFilter.markLoaded();
+
+        log.info("Loaded {} brand ids into the id filter in {} ms",
+                brandIdFilter.entries(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,146 @@
+package org.qrush.brand.brand.filter;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over UUIDs with 4-bit counters instead of bits, so ids can be removed again.
+ * <p>
+ * Sixteen counters are packed per {@code long} and updated with compare-and-set, so lookups and updates are
+ * lock-free. A counter that reaches 15 stays there, because it can no longer tell how many ids share it;
+ * that only ever keeps an id looking present. {@link #remove(UUID)} must only be called for an id that was
+ * added, otherwise it can take counters of other ids down to zero.
+ */
+public final class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long SATURATED = 0xFL;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashFunctions;
+    private final AtomicLong entries = new AtomicLong();
+
+    public CountingBloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("Expected entries must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long optimalCounters = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long wordCount = Math.ceilDiv(Math.max(optimalCounters, COUNTERS_PER_WORD), COUNTERS_PER_WORD);
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter would be too large, lower the expected entries or raise the false positive rate");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.counters = wordCount * COUNTERS_PER_WORD;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters / expectedEntries * Math.log(2)));
+    }
+
+    public void add(UUID id) {
+        long hash1 = hash1(id);
+        long hash2 = hash2(id);
+        for (int i = 0; i < hashFunctions; i++) {
+            increment(index(hash1, hash2, i));
+        }
+        entries.incrementAndGet();
+    }
+
+    public void remove(UUID id) {
+        long hash1 = hash1(id);
+        long hash2 = hash2(id);
+        for (int i = 0; i < hashFunctions; i++) {
+            decrement(index(hash1, hash2, i));
+        }
+        entries.decrementAndGet();
+    }
+
+    /**
+     * Returns false only if {@code id} was never added (or has been removed), true if it probably was.
+     */
+    public boolean mightContain(UUID id) {
+        long hash1 = hash1(id);
+        long hash2 = hash2(id);
+        for (int i = 0; i < hashFunctions; i++) {
+            if (counter(index(hash1, hash2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long entries() {
+        return Math.max(0, entries.get());
+    }
+
+    /**
+     * Chance that an id that was never added is reported present, estimated from the current number of entries.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * entries() / counters), hashFunctions);
+    }
+
+    public long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private void increment(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = (int) (index % COUNTERS_PER_WORD) * 4;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current >>> shift & SATURATED) == SATURATED) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current + (1L << shift)));
+    }
+
+    private void decrement(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = (int) (index % COUNTERS_PER_WORD) * 4;
+        long current;
+        do {
+            current = words.get(word);
+            long counter = current >>> shift & SATURATED;
+            if (counter == 0 || counter == SATURATED) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current - (1L << shift)));
+    }
+
+    private long counter(long index) {
+        return words.get((int) (index / COUNTERS_PER_WORD)) >>> (int) (index % COUNTERS_PER_WORD) * 4 & SATURATED;
+    }
+
+    // Kirsch-Mitzenmacher double hashing: the i-th index is hash1 + i * hash2
+    private long index(long hash1, long hash2, int i) {
+        return Math.floorMod(hash1 + i * hash2, counters);
+    }
+
+    // Time-ordered ids share most of their high bits, so both halves are mixed into each hash
+    private static long hash1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    }
+
+    private static long hash2(UUID id) {
+        // Odd, so the probe sequence does not collapse onto a few counters
+        return mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L * id.getMostSignificantBits()) | 1;
+    }
+
+    // MurmurHash3 finaliser
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,42 @@
+package org.qrush.brand.brand.helpers;
+
+import org.qrush.brand.brand.exceptions.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for brand pages. The token is the URL-safe Base64 form of the last brand id
+ * on a page, so the next page can seek past it on the primary key instead of using an OFFSET.
+ */
+public final class BrandCursor {
+
+    private static final int UUID_BYTES = 16;
+
+    private BrandCursor() {
+    }
+
+    public static String encode(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(UUID_BYTES);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static UUID decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+
+        if (bytes.length != UUID_BYTES) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
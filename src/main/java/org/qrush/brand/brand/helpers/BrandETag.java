@@ -0,0 +1,107 @@
+package org.qrush.brand.brand.helpers;
+
+import org.qrush.brand.brand.dto.BrandCursorResponse;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandResponse;
+import org.qrush.brand.brand.exceptions.InvalidIfMatchException;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Strong entity tags for brand responses, derived from the brand versions instead of hashing the serialized
+ * body, so an unchanged resource can be answered with a 304 without writing any JSON.
+ * <p>
+ * A single brand is tagged with its version. A page is tagged with a 64-bit digest of the id and version of
+ * every brand on it together with the paging fields, so adding, removing or editing any brand on the page, or a
+ * change in the totals, changes the tag. Returns {@code null}, meaning no tag, when a version is unknown.
+ */
+public final class BrandETag {
+
+    // Stands in for If-Match tags that cannot equal any brand's tag, versions start at 0
+    public static final long NO_VERSION = -1;
+
+    private BrandETag() {
+    }
+
+    public static String of(BrandDto brandDto) {
+        return brandDto.getVersion() == null ? null : quote(Long.toString(brandDto.getVersion()));
+    }
+
+    public static String of(BrandResponse brandResponse) {
+        Long digest = digest(brandResponse.getContent());
+        if (digest == null) {
+            return null;
+        }
+        long hash = combine(digest, brandResponse.getPageNumber());
+        hash = combine(hash, brandResponse.getPageSize());
+        hash = combine(hash, Objects.requireNonNullElse(brandResponse.getTotalElements(), -1L));
+        hash = combine(hash, Objects.requireNonNullElse(brandResponse.getTotalPages(), -1));
+        hash = combine(hash, brandResponse.isLast() ? 1 : 0);
+        return quote("p" + Long.toHexString(hash));
+    }
+
+    public static String of(BrandCursorResponse brandCursorResponse) {
+        Long digest = digest(brandCursorResponse.getContent());
+        if (digest == null) {
+            return null;
+        }
+        long hash = combine(digest, brandCursorResponse.getPageSize());
+        // The next cursor is the last id on the page, already in the digest, so only whether there is one matters
+        hash = combine(hash, brandCursorResponse.getNext() == null ? 0 : 1);
+        return quote("c" + Long.toHexString(hash));
+    }
+
+    /**
+     * Reads the brand version an {@code If-Match} header asks for. Returns {@code null} for a missing header or
+     * {@code *}, which match any existing brand, and {@link #NO_VERSION} for a weak or foreign tag, which
+     * never matches under the strong comparison If-Match requires.
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.indexOf(',') >= 0) {
+            throw new InvalidIfMatchException("If-Match must name a single brand ETag");
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_VERSION;
+        }
+        try {
+            long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+            return version < 0 ? NO_VERSION : version;
+        } catch (NumberFormatException ex) {
+            return NO_VERSION;
+        }
+    }
+
+    private static Long digest(List<BrandDto> brands) {
+        long hash = brands.size();
+        for (BrandDto brand : brands) {
+            if (brand.getVersion() == null) {
+                return null;
+            }
+            hash = combine(hash, brand.getId().getMostSignificantBits());
+            hash = combine(hash, brand.getId().getLeastSignificantBits());
+            hash = combine(hash, brand.getVersion());
+        }
+        return hash;
+    }
+
+    // Order-sensitive: each value is mixed into the running hash, then the MurmurHash3 finaliser spreads it
+    private static long combine(long hash, long value) {
+        long mixed = (hash ^ value) * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xFF51AFD7ED558CCDL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xC4CEB9FE1A85EC53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
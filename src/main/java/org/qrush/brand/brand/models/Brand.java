@@ -6,8 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.UUID;
 import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.id.TimeOrderedId;
 
 
 @Data
@@ -18,17 +20,24 @@ import org.qrush.brand.brand.dto.BrandDto;
 public class Brand {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(unique= true)
     @NotEmpty(message = "Brand name cannot be null or empty")
     private String name;
 
+    // Bumped on every update and exposed as the ETag. The default lets ddl-auto add the column to existing rows
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     public BrandDto toDto() {
         return BrandDto.builder()
                 .name(name)
                 .id(id)
+                .version(version)
                 .build();
     }
 }
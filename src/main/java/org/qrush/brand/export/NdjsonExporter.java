@@ -0,0 +1,88 @@
+package org.qrush.brand.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a forward-only stream of rows as newline delimited JSON, one row at a time, so an export of the whole
+ * table needs no more heap than a single row. The stream is consumed inside a read-only transaction, which
+ * PostgreSQL needs before it honours the query's fetch size instead of buffering the full result.
+ */
+@Component
+public class NdjsonExporter {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonExporter(PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Prepares an NDJSON response body, gzip compressed when the client accepts it. Closing the returned stream
+     * finishes the compressed body.
+     */
+    public static OutputStream openResponse(HttpServletResponse response, String acceptEncoding) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+        }
+        return response.getOutputStream();
+    }
+
+    /**
+     * @return the number of rows written
+     */
+    public <T> long export(Supplier<Stream<T>> rows, Class<T> type, OutputStream out) {
+        Long written = readOnlyTransaction.execute(status -> {
+            try (Stream<T> stream = rows.get()) {
+                return write(stream.iterator(), type, out);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return written == null ? 0 : written;
+    }
+
+    private <T> long write(Iterator<T> rows, Class<T> type, OutputStream out) throws IOException {
+        // Flushing after every row would push each one through the socket (and gzip) on its own
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The caller owns the response stream, closing the generator only flushes it
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,62 @@
+package org.qrush.brand.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Version 7 UUIDs (RFC 9562): a 48-bit Unix millisecond timestamp, then a 12-bit sequence counter in
+ * {@code rand_a} and 62 random bits. Ids generated one after another sort in generation order, so new rows
+ * land at the right-hand edge of a primary key B-tree instead of splitting pages all over it.
+ * <p>
+ * The timestamp and counter live in a single {@link AtomicLong} advanced with compare-and-set, which keeps
+ * ids strictly increasing on this node across threads. That holds within a millisecond, when the counter
+ * overflows (it borrows the next millisecond) and when the wall clock steps backwards (the last timestamp is
+ * kept until the clock catches up).
+ */
+public final class TimeOrderedUuid {
+
+    private static final TimeOrderedUuid DEFAULT = new TimeOrderedUuid(System::currentTimeMillis);
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC_9562 = 0x8000000000000000L;
+
+    private final LongSupplier clock;
+    // Unix milliseconds in the high 52 bits, sequence counter in the low 12
+    private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    public TimeOrderedUuid(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public static UUID next() {
+        return DEFAULT.generate();
+    }
+
+    public UUID generate() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        long previous;
+        long current;
+        do {
+            previous = lastTimestampAndCounter.get();
+            current = now > previous ? now : previous + 1;
+        } while (!lastTimestampAndCounter.compareAndSet(previous, current));
+
+        long mostSignificantBits = (current >>> COUNTER_BITS) << 16
+                | VERSION_7
+                | (current & ((1L << COUNTER_BITS) - 1));
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC_9562;
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * @return the Unix millisecond timestamp encoded in a version 7 UUID
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,37 @@
+package org.qrush.brand.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares while serving a request, into the counter that
+ * {@link RequestStatementMetricsFilter} puts on the request. Statements outside a request, such as start-up
+ * loading, are not counted, nor is SQL sent through {@code JdbcTemplate}.
+ */
+@Component
+public class RequestStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    static final String COUNT_ATTRIBUTE = RequestStatementCounter.class.getName() + ".count";
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger count) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+}
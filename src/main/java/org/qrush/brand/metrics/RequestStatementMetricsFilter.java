@@ -0,0 +1,67 @@
+package org.qrush.brand.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how many Hibernate statements each request ran as the {@code hibernate.statements.per.request}
+ * distribution. Requests are tagged with the route template, {@code /brand/{id}} rather than the concrete
+ * path, so the tag space stays bounded. Each summary is built once per method and route and then reused, so a
+ * request only pays for a map lookup instead of a registry lookup.
+ */
+@Component
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String METRIC_NAME = "hibernate.statements.per.request";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Route, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RequestStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        AtomicInteger count = new AtomicInteger();
+        request.setAttribute(RequestStatementCounter.COUNT_ATTRIBUTE, count);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Only set once a handler mapping matched, unmatched paths share one tag value
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Route route = new Route(request.getMethod(), pattern != null ? pattern.toString() : UNKNOWN_URI);
+            DistributionSummary summary = summaries.get(route);
+            if (summary == null) {
+                summary = summaries.computeIfAbsent(route, this::register);
+            }
+            summary.record(count.get());
+        }
+    }
+
+    private DistributionSummary register(Route route) {
+        return DistributionSummary.builder(METRIC_NAME)
+                .description("Hibernate SQL statements run per HTTP request")
+                .baseUnit("statements")
+                .tag("method", route.method())
+                .tag("uri", route.uri())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record Route(String method, String uri) {
+    }
+}
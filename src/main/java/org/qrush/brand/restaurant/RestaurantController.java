@@ -1,25 +1,84 @@
 package org.qrush.brand.restaurant;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import org.qrush.brand.export.NdjsonExporter;
+import org.qrush.brand.restaurant.dto.NearbyRestaurantDto;
 import org.qrush.brand.restaurant.dto.RestaurantDto;
+import org.qrush.brand.restaurant.dto.RestaurantImportResult;
+import org.qrush.brand.restaurant.importer.RestaurantImportService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
-@RequestMapping("/brand/{brand_id}/restaurant")
 public class RestaurantController {
     private final RestaurantService restaurantService;
+    private final RestaurantImportService restaurantImportService;
 
-    public RestaurantController(RestaurantService restaurantService) {
+    public RestaurantController(RestaurantService restaurantService, RestaurantImportService restaurantImportService) {
         this.restaurantService = restaurantService;
+        this.restaurantImportService = restaurantImportService;
     }
 
-    @PostMapping()
+    @PostMapping("/brand/{brand_id}/restaurant")
     public ResponseEntity<RestaurantDto> createRestaurant(@PathVariable("brand_id") UUID brandId, @RequestBody @Valid RestaurantDto restaurantDto) {
         restaurantDto.setBrandId(brandId);
         return new ResponseEntity<>(restaurantService.createRestaurant(restaurantDto), HttpStatus.CREATED);
     }
+
+    @GetMapping("/brand/{brand_id}/restaurant/nearest")
+    public ResponseEntity<List<NearbyRestaurantDto>> getNearestRestaurantsOfBrand(
+            @PathVariable("brand_id") UUID brandId,
+            @RequestParam("lat") @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90") @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90") double latitude,
+            @RequestParam("lon") @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180") @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180") double longitude,
+            @RequestParam(value = "k", defaultValue = "1", required = false) @Min(value = 1, message = "k must be between 1 and 100") @Max(value = 100, message = "k must be between 1 and 100") int k
+    ) {
+        List<NearbyRestaurantDto> response = restaurantService.findNearestOfBrand(brandId, latitude, longitude, k);
+
+        if(response.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/restaurant/nearby")
+    public ResponseEntity<List<NearbyRestaurantDto>> getNearbyRestaurants(
+            @RequestParam("lat") @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90") @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90") double latitude,
+            @RequestParam("lon") @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180") @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180") double longitude,
+            @RequestParam(value = "radius", required = false) @Positive(message = "Radius must be positive") Double radiusMeters,
+            @RequestParam(value = "limit", defaultValue = "20", required = false) @Min(value = 1, message = "Limit must be between 1 and 100") @Max(value = 100, message = "Limit must be between 1 and 100") int limit
+    ) {
+        List<NearbyRestaurantDto> response = restaurantService.findNearby(latitude, longitude, radiusMeters, limit);
+
+        if(response.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/restaurant/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportRestaurants(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding, HttpServletResponse response) throws IOException {
+        try (OutputStream out = NdjsonExporter.openResponse(response, acceptEncoding)) {
+            restaurantService.exportRestaurants(out);
+        }
+    }
+
+    @PostMapping(value = "/restaurant/import", consumes = {RestaurantImportService.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<RestaurantImportResult> importRestaurants(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        return ResponseEntity.ok(restaurantImportService.importRestaurants(body, contentType));
+    }
 }
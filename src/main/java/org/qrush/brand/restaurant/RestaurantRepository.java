@@ -1,11 +1,26 @@
 package org.qrush.brand.restaurant;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.qrush.brand.restaurant.dto.RestaurantDto;
 import org.qrush.brand.restaurant.models.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
     Optional<Restaurant> findByNameAndBrandId(String name, UUID brandId);
+
+    // Forward-only read of every restaurant as a DTO projection, so no entities (or their brands) are loaded.
+    // Legacy rows that LegacyLocationMigration has not backfilled yet have no coordinates and are skipped
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new org.qrush.brand.restaurant.dto.RestaurantDto(r.id, r.name, r.address, r.latitude, r.longitude, r.brand.id) from Restaurant r where r.latitude is not null and r.longitude is not null")
+    Stream<RestaurantDto> streamAll();
 }
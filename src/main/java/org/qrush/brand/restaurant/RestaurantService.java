@@ -1,42 +1,106 @@
 package org.qrush.brand.restaurant;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.qrush.brand.brand.BrandService;
-import org.qrush.brand.brand.dto.BrandDto;
-import org.qrush.brand.brand.helpers.BrandMapper;
-import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.brand.exceptions.BrandNotFoundException;
+import org.qrush.brand.export.NdjsonExporter;
+import org.qrush.brand.restaurant.dto.NearbyRestaurantDto;
 import org.qrush.brand.restaurant.dto.RestaurantDto;
 import org.qrush.brand.restaurant.exceptions.RestaurantAlreadyExists;
 import org.qrush.brand.restaurant.helpers.RestaurantMapper;
 import org.qrush.brand.restaurant.models.Restaurant;
+import org.qrush.brand.restaurant.spatial.Neighbour;
+import org.qrush.brand.restaurant.spatial.RestaurantSpatialIndex;
+import org.qrush.brand.timing.ServerTimings;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 @Service
 public class RestaurantService {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+    // PostgreSQL reports a missing parent row as 23503, H2 as 23506
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+
     private final RestaurantRepository restaurantRepository;
     private final BrandService brandService;
     private final RestaurantMapper restaurantMapper;
-    private final BrandMapper brandMapper;
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
+    private final NdjsonExporter ndjsonExporter;
 
-    public RestaurantService(RestaurantRepository restaurantRepository, BrandService brandService, RestaurantMapper restaurantMapper, BrandMapper brandMapper) {
+    public RestaurantService(RestaurantRepository restaurantRepository, BrandService brandService, RestaurantMapper restaurantMapper, RestaurantSpatialIndex restaurantSpatialIndex, NdjsonExporter ndjsonExporter) {
         this.restaurantRepository = restaurantRepository;
         this.brandService = brandService;
         this.restaurantMapper = restaurantMapper;
-        this.brandMapper = brandMapper;
+        this.restaurantSpatialIndex = restaurantSpatialIndex;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     public RestaurantDto createRestaurant(RestaurantDto restaurantDto) {
-        BrandDto brandDto = brandService.getBrandById(restaurantDto.getBrandId());
-        Brand brand = brandMapper.toEntity(brandDto);
+        // Everything since the body was read: bean validation and the controller call
+        ServerTimings.phase("validate");
 
-        if (restaurantRepository.findByNameAndBrandId(restaurantDto.getName(), restaurantDto.getBrandId()).orElse(null) != null) {
-            throw new RestaurantAlreadyExists(String.format("Restaurant name already exists for brand %s", brand.getName()));
+        // A single insert: the brand foreign key and the (name, brand_id) unique constraint do the checks
+        Restaurant restaurant = restaurantMapper.toEntity(restaurantDto, brandService.getBrandReference(restaurantDto.getBrandId()));
+        ServerTimings.phase("brand");
+
+        Restaurant savedRestaurant;
+        try {
+            savedRestaurant = restaurantRepository.saveAndFlush(restaurant);
+        } catch (DataIntegrityViolationException ex) {
+            ServerTimings.phase("insert");
+            throw translateConstraintViolation(ex, restaurantDto.getBrandId());
         }
+        ServerTimings.phase("insert");
+
+        RestaurantDto savedRestaurantDto = restaurantMapper.toDTO(savedRestaurant);
+        restaurantSpatialIndex.add(savedRestaurantDto);
+        ServerTimings.phase("index");
+        return savedRestaurantDto;
+    }
+
+    public List<NearbyRestaurantDto> findNearby(double latitude, double longitude, Double radiusMeters, int limit) {
+        List<Neighbour> neighbours = radiusMeters == null
+                ? restaurantSpatialIndex.nearest(latitude, longitude, limit)
+                : restaurantSpatialIndex.withinRadius(latitude, longitude, radiusMeters, limit);
 
-        Restaurant restaurant = restaurantMapper.toEntity(restaurantDto, brand);
+        return neighbours.stream().map(NearbyRestaurantDto::from).toList();
+    }
 
-        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+    public List<NearbyRestaurantDto> findNearestOfBrand(UUID brandId, double latitude, double longitude, int k) {
+        // Distinguishes an unknown brand (404) from a brand without restaurants (empty result)
+        brandService.getBrandById(brandId);
 
-        return restaurantMapper.toDTO(savedRestaurant);
+        return restaurantSpatialIndex.nearestOfBrand(brandId, latitude, longitude, k).stream()
+                .map(NearbyRestaurantDto::from)
+                .toList();
+    }
+
+    public long exportRestaurants(OutputStream out) {
+        return ndjsonExporter.export(restaurantRepository::streamAll, RestaurantDto.class, out);
+    }
+
+    private RuntimeException translateConstraintViolation(DataIntegrityViolationException ex, UUID brandId) {
+        if (!(ex.getCause() instanceof ConstraintViolationException violation)) {
+            return ex;
+        }
+
+        // Match on the constraint name, falling back to the SQL state for databases whose constraints predate the names
+        String constraintName = violation.getConstraintName() == null ? "" : violation.getConstraintName().toLowerCase();
+        if (constraintName.contains(Restaurant.UNIQUE_NAME_PER_BRAND.toLowerCase()) || UNIQUE_VIOLATION.equals(violation.getSQLState())) {
+            // Only the conflict path needs the brand name, for the error message
+            String brandName = brandService.getBrandById(brandId).getName();
+            ServerTimings.phase("conflict");
+            return new RestaurantAlreadyExists(String.format("Restaurant name already exists for brand %s", brandName));
+        }
+        if (constraintName.contains(Restaurant.BRAND_FOREIGN_KEY) || FOREIGN_KEY_VIOLATIONS.contains(violation.getSQLState())) {
+            return new BrandNotFoundException("Brand could not be found");
+        }
+        return ex;
     }
 }
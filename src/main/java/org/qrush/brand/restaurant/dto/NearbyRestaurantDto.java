@@ -0,0 +1,36 @@
+package org.qrush.brand.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.qrush.brand.restaurant.spatial.Neighbour;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyRestaurantDto {
+
+    private UUID id;
+    private String name;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    private UUID brandId;
+    private double distanceMeters;
+
+    public static NearbyRestaurantDto from(Neighbour neighbour) {
+        return NearbyRestaurantDto.builder()
+                .id(neighbour.restaurant().id())
+                .name(neighbour.restaurant().name())
+                .address(neighbour.restaurant().address())
+                .latitude(neighbour.restaurant().latitude())
+                .longitude(neighbour.restaurant().longitude())
+                .brandId(neighbour.restaurant().brandId())
+                .distanceMeters(neighbour.distanceMeters())
+                .build();
+    }
+}
@@ -10,7 +10,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.qrush.brand.brand.models.Brand;
 import org.qrush.brand.restaurant.models.Restaurant;
-import org.springframework.data.geo.Point;
 
 import java.util.UUID;
 
@@ -46,7 +45,8 @@ public class RestaurantDto {
                 .id(id)
                 .name(name)
                 .address(address)
-                .location(new Point(longitude, latitude))
+                .latitude(latitude)
+                .longitude(longitude)
                 .brand(brand)
                 .build();
 
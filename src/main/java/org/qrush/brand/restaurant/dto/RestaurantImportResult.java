@@ -0,0 +1,31 @@
+package org.qrush.brand.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantImportResult {
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+
+    private long rowsRead;
+    private long rowsRejected;
+    private long rowsInserted;
+    // Valid rows that were not inserted, because the restaurant already exists or appears earlier in the file
+    private long rowsSkipped;
+    private List<RowError> errors;
+}
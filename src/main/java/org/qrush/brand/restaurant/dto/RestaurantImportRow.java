@@ -0,0 +1,33 @@
+package org.qrush.brand.restaurant.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RestaurantImportRow {
+
+    private String name;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    private String brand;
+
+    public RestaurantDto toRestaurantDto(UUID brandId) {
+        return RestaurantDto.builder()
+                .name(name)
+                .address(address)
+                .latitude(latitude)
+                .longitude(longitude)
+                .brandId(brandId)
+                .build();
+    }
+}
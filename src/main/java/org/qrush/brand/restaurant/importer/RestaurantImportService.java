@@ -0,0 +1,253 @@
+package org.qrush.brand.restaurant.importer;
+
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.qrush.brand.id.TimeOrderedUuid;
+import org.qrush.brand.restaurant.dto.RestaurantDto;
+import org.qrush.brand.restaurant.dto.RestaurantImportResult;
+import org.qrush.brand.restaurant.dto.RestaurantImportRow;
+import org.qrush.brand.restaurant.spatial.RestaurantSpatialIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads a restaurant catalog from CSV or NDJSON without going through
+ * {@link org.qrush.brand.restaurant.RestaurantService#createRestaurant} row by row.
+ * <p>
+ * Rows are parsed one at a time, validated with the {@link RestaurantDto} rules and copied into a temporary
+ * staging table with the PostgreSQL COPY protocol. Brand names are resolved in the database: unknown ones are
+ * reported from the staging table, and a single set-based merge joins the rest to {@code brand} and moves them
+ * into {@code restaurants}, skipping restaurants that already exist. Result sets are read with a fetch size, so
+ * memory stays flat however large the file or the brand table is. The whole import is one transaction, so a
+ * malformed file leaves the table untouched.
+ */
+@Slf4j
+@Service
+public class RestaurantImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    static final int MAX_REPORTED_ERRORS = 100;
+    static final int FETCH_SIZE = 1000;
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE restaurant_import (
+                ordinal bigint NOT NULL,
+                id uuid NOT NULL,
+                name text NOT NULL,
+                address text NOT NULL,
+                latitude double precision NOT NULL,
+                longitude double precision NOT NULL,
+                brand text NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_INTO_STAGING =
+            "COPY restaurant_import (ordinal, id, name, address, latitude, longitude, brand) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String SELECT_UNKNOWN_BRANDS = """
+            SELECT ordinal FROM restaurant_import s
+            WHERE NOT EXISTS (SELECT 1 FROM brand b WHERE b.name = s.brand)
+            ORDER BY ordinal""";
+
+    // The first row wins when a file repeats a restaurant name within a brand
+    private static final String MERGE_STAGING = """
+            INSERT INTO restaurants (id, name, address, latitude, longitude, brand_id, version)
+            SELECT id, name, address, latitude, longitude, brand_id, 0
+            FROM (SELECT DISTINCT ON (s.name, b.id) s.id, s.name, s.address, s.latitude, s.longitude, b.id AS brand_id
+                  FROM restaurant_import s JOIN brand b ON b.name = s.brand
+                  ORDER BY s.name, b.id, s.ordinal) AS staged
+            ON CONFLICT (name, brand_id) DO NOTHING
+            RETURNING id, name, address, latitude, longitude, brand_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = CsvMapper.builder().enable(CsvParser.Feature.EMPTY_STRING_AS_NULL).build();
+    private final Validator validator;
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
+
+    public RestaurantImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper, Validator validator, RestaurantSpatialIndex restaurantSpatialIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.restaurantSpatialIndex = restaurantSpatialIndex;
+    }
+
+    public RestaurantImportResult importRestaurants(InputStream body, MediaType contentType) throws IOException {
+        try (MappingIterator<RestaurantImportRow> rows = reader(contentType).readValues(body)) {
+            List<RestaurantDto> inserted = new ArrayList<>();
+            RestaurantImportResult result = transactionTemplate.execute(status ->
+                    jdbcTemplate.execute((ConnectionCallback<RestaurantImportResult>) connection -> importRows(connection, rows, inserted)));
+
+            // execute only returns once the import has committed, so a failed commit never reaches the index
+            inserted.forEach(restaurantSpatialIndex::add);
+
+            log.info("Imported {} of {} restaurants ({} rejected, {} skipped)",
+                    result.getRowsInserted(), result.getRowsRead(), result.getRowsRejected(), result.getRowsSkipped());
+            return result;
+        }
+    }
+
+    private ObjectReader reader(MediaType contentType) {
+        if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+            return csvMapper.readerFor(RestaurantImportRow.class).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(RestaurantImportRow.class);
+    }
+
+    private RestaurantImportResult importRows(Connection connection, MappingIterator<RestaurantImportRow> rows, List<RestaurantDto> inserted) throws SQLException {
+        List<RestaurantImportResult.RowError> errors = new ArrayList<>();
+        long rowsRead = 0;
+        long rowsRejected = 0;
+        long rowsStaged;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        try (RestaurantStagingWriter writer = new RestaurantStagingWriter(copyManager.copyIn(COPY_INTO_STAGING))) {
+            while (hasNextRow(rows, rowsRead + 1)) {
+                long rowNumber = ++rowsRead;
+                RestaurantImportRow row;
+                String error;
+                try {
+                    row = rows.nextValue();
+                    error = validate(row);
+                } catch (DatabindException ex) {
+                    // A value of the wrong type only spoils its own row, the iterator resyncs on the next one
+                    row = null;
+                    error = ex.getOriginalMessage();
+                } catch (IOException ex) {
+                    throw malformed(rowNumber, ex);
+                }
+
+                if (error != null) {
+                    rowsRejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(RestaurantImportResult.RowError.builder().row(rowNumber).message(error).build());
+                    }
+                    continue;
+                }
+                writer.write(rowNumber, TimeOrderedUuid.next(), row.getName(), row.getAddress(), row.getLatitude(), row.getLongitude(), row.getBrand());
+            }
+            rowsStaged = writer.finish();
+        }
+
+        long unknownBrands = rejectUnknownBrands(errors);
+        long rowsInserted = mergeStagedRows(inserted);
+
+        return RestaurantImportResult.builder()
+                .rowsRead(rowsRead)
+                .rowsRejected(rowsRejected + unknownBrands)
+                .rowsInserted(rowsInserted)
+                .rowsSkipped(rowsStaged - unknownBrands - rowsInserted)
+                .errors(errors)
+                .build();
+    }
+
+    private long rejectUnknownBrands(List<RestaurantImportResult.RowError> errors) {
+        long[] rejected = {0};
+        jdbcTemplate.query(new StreamingQuery(SELECT_UNKNOWN_BRANDS), rs -> {
+            if (rejected[0]++ < MAX_REPORTED_ERRORS) {
+                errors.add(RestaurantImportResult.RowError.builder().row(rs.getLong("ordinal")).message("Brand not found").build());
+            }
+        });
+
+        // Keep the report in file order and within its cap now that both kinds of error are in it
+        errors.sort(Comparator.comparingLong(RestaurantImportResult.RowError::getRow));
+        if (errors.size() > MAX_REPORTED_ERRORS) {
+            errors.subList(MAX_REPORTED_ERRORS, errors.size()).clear();
+        }
+        return rejected[0];
+    }
+
+    private long mergeStagedRows(List<RestaurantDto> inserted) {
+        // Returned rows are only collected here and indexed by the caller after the commit
+        jdbcTemplate.query(new StreamingQuery(MERGE_STAGING), rs -> {
+            inserted.add(RestaurantDto.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .name(rs.getString("name"))
+                    .address(rs.getString("address"))
+                    .latitude(rs.getDouble("latitude"))
+                    .longitude(rs.getDouble("longitude"))
+                    .brandId(rs.getObject("brand_id", UUID.class))
+                    .build());
+        });
+        return inserted.size();
+    }
+
+    private String validate(RestaurantImportRow row) {
+        // A bare null line in NDJSON binds to no row at all
+        if (row == null) {
+            return "Row is empty";
+        }
+        if (row.getBrand() == null) {
+            return "Brand not found";
+        }
+        // The brand id is only known once the staged rows are joined to brand
+        Set<ConstraintViolation<RestaurantDto>> violations = validator.validate(row.toRestaurantDto(null));
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static boolean hasNextRow(MappingIterator<RestaurantImportRow> rows, long rowNumber) {
+        try {
+            return rows.hasNextValue();
+        } catch (IOException ex) {
+            throw malformed(rowNumber, ex);
+        }
+    }
+
+    private static ResponseStatusException malformed(long rowNumber, IOException ex) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Malformed restaurant at row %d", rowNumber), ex);
+    }
+
+    /**
+     * Reads a result set in {@link #FETCH_SIZE} row round trips instead of buffering it whole. The import runs
+     * with auto-commit off, which the PostgreSQL driver needs to honour the fetch size.
+     */
+    private record StreamingQuery(String sql) implements PreparedStatementCreator, SqlProvider {
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.qrush.brand.restaurant.importer;
+
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Encodes staged restaurant rows as CSV and feeds them to a {@code COPY ... FROM STDIN WITH (FORMAT csv)}
+ * in fixed size chunks, so a whole import costs one buffer however many rows it has.
+ */
+class RestaurantStagingWriter implements AutoCloseable {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder line = new StringBuilder(256);
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private boolean finished;
+
+    RestaurantStagingWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    void write(long ordinal, UUID id, String name, String address, double latitude, double longitude, String brand) throws SQLException {
+        line.setLength(0);
+        line.append(ordinal).append(',').append(id).append(',');
+        appendQuoted(name);
+        line.append(',');
+        appendQuoted(address);
+        line.append(',').append(latitude)
+                .append(',').append(longitude)
+                .append(',');
+        appendQuoted(brand);
+        line.append('\n');
+
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (position + bytes.length > buffer.length) {
+            flush();
+        }
+        if (bytes.length > buffer.length) {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            return;
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Sends the remaining buffered rows and completes the copy.
+     *
+     * @return the number of rows the database staged
+     */
+    long finish() throws SQLException {
+        flush();
+        finished = true;
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        // Leaves the connection usable for the rollback when the import fails part way
+        if (!finished && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (position > 0) {
+            copyIn.writeToCopy(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void appendQuoted(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
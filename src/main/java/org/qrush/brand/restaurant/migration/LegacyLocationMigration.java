@@ -0,0 +1,132 @@
+package org.qrush.brand.restaurant.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.geo.Point;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-off migration from the legacy {@code restaurants.location} column, which held a Java-serialized
+ * {@link Point}, to the native {@code latitude}/{@code longitude} columns.
+ * <p>
+ * Every start-up against a database that still has the legacy column relaxes its NOT NULL constraint before
+ * the application serves requests, since new restaurants no longer write it. Enable
+ * {@code restaurant.location-migration.enabled=true} for a single start-up to finish the move: rows are
+ * streamed and backfilled in batches, after which the new columns are made NOT NULL and the legacy column is
+ * dropped. Both steps are no-ops once the column is gone.
+ */
+@Slf4j
+@Component
+@Order(LegacyLocationMigration.ORDER)
+public class LegacyLocationMigration implements InitializingBean, ApplicationRunner {
+
+    // Runs before the runners that read restaurant coordinates, such as the spatial index load
+    public static final int ORDER = 0;
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Only a serialized Point (two doubles) is expected in the blob, reject anything else
+    private static final ObjectInputFilter POINT_ONLY = ObjectInputFilter.Config.createFilter(
+            "org.springframework.data.geo.Point;maxdepth=2;maxrefs=4;!*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public LegacyLocationMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   @Value("${restaurant.location-migration.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // DROP NOT NULL is a no-op on an already nullable column, so this is safe on every start-up
+        if (legacyLocationColumnExists()) {
+            jdbcTemplate.execute("ALTER TABLE restaurants ALTER COLUMN location DROP NOT NULL");
+            log.info("Legacy restaurants.location column is still present, made it nullable");
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (!legacyLocationColumnExists()) {
+            log.info("No legacy restaurants.location column found, skipping location migration");
+            return;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> backfillCoordinates());
+
+        jdbcTemplate.execute("ALTER TABLE restaurants ALTER COLUMN latitude SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE restaurants ALTER COLUMN longitude SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE restaurants DROP COLUMN location");
+
+        log.info("Migrated {} restaurant locations to latitude/longitude columns", migrated);
+    }
+
+    private boolean legacyLocationColumnExists() {
+        Integer columns = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM information_schema.columns WHERE table_name = 'restaurants' AND column_name = 'location'",
+                Integer.class);
+        return columns != null && columns > 0;
+    }
+
+    private int backfillCoordinates() {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int[] migrated = {0};
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, location FROM restaurants WHERE latitude IS NULL OR longitude IS NULL");
+            statement.setFetchSize(BATCH_SIZE);
+            return statement;
+        }, rs -> {
+            Point point = deserialize(rs.getBytes("location"));
+            batch.add(new Object[]{point.getY(), point.getX(), rs.getObject("id")});
+
+            if (batch.size() == BATCH_SIZE) {
+                migrated[0] += flush(batch);
+            }
+        });
+        migrated[0] += flush(batch);
+
+        return migrated[0];
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("UPDATE restaurants SET latitude = ?, longitude = ? WHERE id = ?", batch);
+        int flushed = batch.size();
+        batch.clear();
+        return flushed;
+    }
+
+    private Point deserialize(byte[] location) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(location))) {
+            in.setObjectInputFilter(POINT_ONLY);
+            return (Point) in.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new IllegalStateException("Could not read legacy restaurant location", ex);
+        }
+    }
+}
@@ -7,9 +7,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.id.TimeOrderedId;
 import org.qrush.brand.restaurant.dto.RestaurantDto;
-import org.springframework.data.geo.Point;
 
 import java.util.UUID;
 
@@ -20,11 +21,15 @@ import java.util.UUID;
 @Entity
 @Table(
         name = "restaurants",
-        uniqueConstraints = @UniqueConstraint(name = "Unique restaurant name for each brand", columnNames = {"name", "brand_id"})
+        uniqueConstraints = @UniqueConstraint(name = Restaurant.UNIQUE_NAME_PER_BRAND, columnNames = {"name", "brand_id"}),
+        indexes = @Index(name = "restaurants_location_idx", columnList = "latitude, longitude")
 )
 public class Restaurant {
+    public static final String UNIQUE_NAME_PER_BRAND = "Unique restaurant name for each brand";
+    public static final String BRAND_FOREIGN_KEY = "restaurants_brand_fk";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedId
     private UUID id;
 
     @Column(nullable = false)
@@ -35,21 +40,32 @@ public class Restaurant {
     @NotEmpty(message = "Restaurant address cannot be null or empty")
     private String address;
 
-    @Column(nullable = false)
-    @NotNull(message = "Restaurant location cannot be null")
-    private Point location;
+    // Left nullable at the column level so ddl-auto can add the columns to tables that still hold the
+    // legacy serialized location; see LegacyLocationMigration
+    @Column
+    @NotNull(message = "Restaurant latitude cannot be null")
+    private Double latitude;
+
+    @Column
+    @NotNull(message = "Restaurant longitude cannot be null")
+    private Double longitude;
 
     @ManyToOne
-    @JoinColumn(name = "brand_id")
+    @JoinColumn(name = "brand_id", foreignKey = @ForeignKey(name = BRAND_FOREIGN_KEY))
     private Brand brand;
 
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     public RestaurantDto toDto() {
         return RestaurantDto.builder()
                 .id(id)
                 .name(name)
                 .address(address)
-                .longitude(location.getX())
-                .latitude(location.getY())
+                .longitude(longitude)
+                .latitude(latitude)
                 .brandId(brand.getId())
                 .build();
     }
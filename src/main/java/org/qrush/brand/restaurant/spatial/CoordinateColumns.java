@@ -0,0 +1,53 @@
+package org.qrush.brand.restaurant.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Restaurant coordinates packed into parallel primitive columns indexed by slot, stored in radians with the
+ * cosine of the latitude precomputed, which is the layout the {@link DistanceKernel}s score from.
+ */
+public final class CoordinateColumns {
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] cosLatitudes;
+    private int size;
+
+    public CoordinateColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.cosLatitudes = new double[capacity];
+    }
+
+    public int add(double latitudeDegrees, double longitudeDegrees) {
+        if (size == latitudes.length) {
+            int capacity = size + (size >> 1);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            cosLatitudes = Arrays.copyOf(cosLatitudes, capacity);
+        }
+
+        double latitude = Math.toRadians(latitudeDegrees);
+        latitudes[size] = latitude;
+        longitudes[size] = Math.toRadians(longitudeDegrees);
+        cosLatitudes[size] = Math.cos(latitude);
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    double[] latitudes() {
+        return latitudes;
+    }
+
+    double[] longitudes() {
+        return longitudes;
+    }
+
+    double[] cosLatitudes() {
+        return cosLatitudes;
+    }
+}
@@ -0,0 +1,35 @@
+package org.qrush.brand.restaurant.spatial;
+
+/**
+ * Scores great-circle distances in metres from one query point to many restaurants held in
+ * {@link CoordinateColumns}. Query coordinates are in radians.
+ */
+public interface DistanceKernel {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Writes the distance to {@code slots[i]} into {@code out[i]} for the first {@code count} slots.
+     */
+    void distances(CoordinateColumns columns, double latitude, double longitude, int[] slots, int count, double[] out);
+
+    /**
+     * Writes the distance to slot {@code fromSlot + i} into {@code out[i]} for {@code count} consecutive slots.
+     */
+    void distances(CoordinateColumns columns, double latitude, double longitude, int fromSlot, int count, double[] out);
+
+    /**
+     * The vectorized kernel when the JVM was started with {@code --add-modules jdk.incubator.vector},
+     * otherwise the scalar one.
+     */
+    static DistanceKernel best() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return new VectorDistanceKernel();
+            } catch (LinkageError ex) {
+                return new ScalarDistanceKernel();
+            }
+        }
+        return new ScalarDistanceKernel();
+    }
+}
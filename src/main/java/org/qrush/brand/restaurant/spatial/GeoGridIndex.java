@@ -0,0 +1,233 @@
+package org.qrush.brand.restaurant.spatial;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform latitude/longitude grid over restaurant locations.
+ * <p>
+ * Each restaurant gets a compact int slot into packed {@link CoordinateColumns} and each occupied cell keeps
+ * the slots that fall inside it, so a query only scores restaurants in the cells overlapping its search area,
+ * a cell at a time through a {@link DistanceKernel}. Radius queries scan the exact
+ * great-circle bounding box of the search circle. Nearest queries grow square rings of cells around the
+ * query point until {@code k} candidates are found, then run a radius query bounded by the k-th candidate's
+ * distance so that closer restaurants in cells outside the rings are not missed.
+ * <p>
+ * Not thread-safe, see {@link RestaurantSpatialIndex}.
+ */
+public class GeoGridIndex {
+
+    // Below this size scoring every restaurant is cheaper than walking cells
+    static final int BRUTE_FORCE_THRESHOLD = 64;
+    private static final int SCAN_CHUNK = 1024;
+
+    private final double cellSizeDegrees;
+    private final int latitudeRows;
+    private final int longitudeColumns;
+    private final List<IndexedRestaurant> restaurants = new ArrayList<>();
+    private final CoordinateColumns coordinates = new CoordinateColumns(64);
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final DistanceKernel distanceKernel;
+
+    public GeoGridIndex(double cellSizeDegrees) {
+        this(cellSizeDegrees, DistanceKernel.best());
+    }
+
+    public GeoGridIndex(double cellSizeDegrees, DistanceKernel distanceKernel) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.latitudeRows = (int) Math.ceil(180 / cellSizeDegrees);
+        this.longitudeColumns = (int) Math.ceil(360 / cellSizeDegrees);
+        this.distanceKernel = distanceKernel;
+    }
+
+    public int size() {
+        return restaurants.size();
+    }
+
+    public void add(IndexedRestaurant restaurant) {
+        int slot = coordinates.add(restaurant.latitude(), restaurant.longitude());
+        restaurants.add(restaurant);
+
+        long key = cellKey(latitudeRow(restaurant.latitude()), longitudeColumn(restaurant.longitude()));
+        cells.computeIfAbsent(key, k -> new Cell()).add(slot);
+    }
+
+    public List<Neighbour> withinRadius(double latitude, double longitude, double radiusMeters, int limit) {
+        Query query = new Query(latitude, longitude, radiusMeters, new NeighbourCollector(limit));
+        if (limit <= 0 || restaurants.isEmpty()) {
+            return query.collector.sorted();
+        }
+
+        if (restaurants.size() <= BRUTE_FORCE_THRESHOLD) {
+            scanAll(query);
+        } else {
+            scanBoundingBox(query);
+        }
+        return query.collector.sorted();
+    }
+
+    public List<Neighbour> nearest(double latitude, double longitude, int k) {
+        Query query = new Query(latitude, longitude, Double.POSITIVE_INFINITY, new NeighbourCollector(k));
+        if (k <= 0 || restaurants.isEmpty()) {
+            return query.collector.sorted();
+        }
+
+        if (restaurants.size() <= BRUTE_FORCE_THRESHOLD || k >= restaurants.size()) {
+            scanAll(query);
+            return query.collector.sorted();
+        }
+
+        int row = latitudeRow(latitude);
+        int column = longitudeColumn(longitude);
+        Query candidates = new Query(latitude, longitude, Double.POSITIVE_INFINITY, new NeighbourCollector(k));
+        for (int ring = 0; !candidates.collector.isFull(); ring++) {
+            int ringWidth = 2 * ring + 1;
+            // Sparse areas would walk a lot of empty cells, scoring everything is cheaper by then
+            if (ringWidth >= longitudeColumns || (long) ringWidth * ringWidth > restaurants.size()) {
+                scanAll(query);
+                return query.collector.sorted();
+            }
+            scanRing(row, column, ring, candidates);
+        }
+
+        Query bounded = new Query(latitude, longitude, candidates.collector.worstDistance(), query.collector);
+        scanBoundingBox(bounded);
+        return bounded.collector.sorted();
+    }
+
+    private void scanAll(Query query) {
+        double[] distances = query.scratch(Math.min(SCAN_CHUNK, restaurants.size()));
+        for (int fromSlot = 0; fromSlot < restaurants.size(); fromSlot += SCAN_CHUNK) {
+            int count = Math.min(SCAN_CHUNK, restaurants.size() - fromSlot);
+            distanceKernel.distances(coordinates, query.latitude, query.longitude, fromSlot, count, distances);
+            for (int i = 0; i < count; i++) {
+                query.offer(restaurants.get(fromSlot + i), distances[i]);
+            }
+        }
+    }
+
+    private void scanBoundingBox(Query query) {
+        // Small slack so points sitting exactly on the radius are not lost to rounding
+        double angularRadius = query.radiusMeters / GeoDistance.EARTH_RADIUS_METERS * (1 + 1e-9);
+        double radiusDegrees = Math.toDegrees(angularRadius);
+        double minLatitude = query.latitudeDegrees - radiusDegrees;
+        double maxLatitude = query.latitudeDegrees + radiusDegrees;
+
+        int firstColumn;
+        int columnCount;
+        if (minLatitude <= -90 || maxLatitude >= 90 || angularRadius >= Math.PI / 2) {
+            // The circle reaches a pole, so it covers every longitude
+            firstColumn = 0;
+            columnCount = longitudeColumns;
+        } else {
+            double longitudeDelta = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(query.latitude)));
+            firstColumn = (int) Math.floor((query.longitudeDegrees - longitudeDelta + 180) / cellSizeDegrees);
+            int lastColumn = (int) Math.floor((query.longitudeDegrees + longitudeDelta + 180) / cellSizeDegrees);
+            columnCount = Math.min(longitudeColumns, lastColumn - firstColumn + 1);
+        }
+
+        int firstRow = latitudeRow(minLatitude);
+        int lastRow = latitudeRow(maxLatitude);
+        long cellCount = (long) (lastRow - firstRow + 1) * columnCount;
+        if (cellCount > restaurants.size()) {
+            scanAll(query);
+            return;
+        }
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int offset = 0; offset < columnCount; offset++) {
+                scanCell(row, Math.floorMod(firstColumn + offset, longitudeColumns), query);
+            }
+        }
+    }
+
+    private void scanRing(int row, int column, int ring, Query query) {
+        for (int rowOffset = -ring; rowOffset <= ring; rowOffset++) {
+            int ringRow = row + rowOffset;
+            if (ringRow < 0 || ringRow >= latitudeRows) {
+                continue;
+            }
+            boolean edgeRow = Math.abs(rowOffset) == ring;
+            int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+            for (int columnOffset = -ring; columnOffset <= ring; columnOffset += step) {
+                int ringColumn = Math.floorMod(column + columnOffset, longitudeColumns);
+                scanCell(ringRow, ringColumn, query);
+            }
+        }
+    }
+
+    private void scanCell(int row, int column, Query query) {
+        Cell cell = cells.get(cellKey(row, column));
+        if (cell == null) {
+            return;
+        }
+        double[] distances = query.scratch(cell.size);
+        distanceKernel.distances(coordinates, query.latitude, query.longitude, cell.slots, cell.size, distances);
+        for (int i = 0; i < cell.size; i++) {
+            query.offer(restaurants.get(cell.slots[i]), distances[i]);
+        }
+    }
+
+    private int latitudeRow(double latitude) {
+        int row = (int) Math.floor((latitude + 90) / cellSizeDegrees);
+        return Math.clamp(row, 0, latitudeRows - 1);
+    }
+
+    private int longitudeColumn(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSizeDegrees), longitudeColumns);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static final class Cell {
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    private static final class Query {
+        private final double latitudeDegrees;
+        private final double longitudeDegrees;
+        private final double latitude;
+        private final double longitude;
+        private final double radiusMeters;
+        private final NeighbourCollector collector;
+        private double[] scratch = new double[0];
+
+        private Query(double latitudeDegrees, double longitudeDegrees, double radiusMeters, NeighbourCollector collector) {
+            this.latitudeDegrees = latitudeDegrees;
+            this.longitudeDegrees = longitudeDegrees;
+            this.latitude = Math.toRadians(latitudeDegrees);
+            this.longitude = Math.toRadians(longitudeDegrees);
+            this.radiusMeters = radiusMeters;
+            this.collector = collector;
+        }
+
+        private double[] scratch(int size) {
+            if (scratch.length < size) {
+                scratch = new double[Math.max(size, 2 * scratch.length)];
+            }
+            return scratch;
+        }
+
+        private void offer(IndexedRestaurant restaurant, double distanceMeters) {
+            if (distanceMeters <= radiusMeters) {
+                collector.offer(restaurant, distanceMeters);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.qrush.brand.restaurant.spatial;
+
+import org.qrush.brand.restaurant.dto.RestaurantDto;
+
+import java.util.UUID;
+
+public record IndexedRestaurant(UUID id, UUID brandId, String name, String address, double latitude, double longitude) {
+
+    public static IndexedRestaurant from(RestaurantDto restaurantDto) {
+        return new IndexedRestaurant(
+                restaurantDto.getId(),
+                restaurantDto.getBrandId(),
+                restaurantDto.getName(),
+                restaurantDto.getAddress(),
+                restaurantDto.getLatitude(),
+                restaurantDto.getLongitude());
+    }
+}
@@ -0,0 +1,4 @@
+package org.qrush.brand.restaurant.spatial;
+
+public record Neighbour(IndexedRestaurant restaurant, double distanceMeters) {
+}
@@ -0,0 +1,45 @@
+package org.qrush.brand.restaurant.spatial;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code limit} closest neighbours offered so far in a bounded max-heap.
+ */
+class NeighbourCollector {
+
+    private static final Comparator<Neighbour> BY_DISTANCE = Comparator.comparingDouble(Neighbour::distanceMeters);
+
+    private final int limit;
+    private final PriorityQueue<Neighbour> farthestFirst;
+
+    NeighbourCollector(int limit) {
+        this.limit = limit;
+        this.farthestFirst = new PriorityQueue<>(Math.max(1, limit), BY_DISTANCE.reversed());
+    }
+
+    void offer(IndexedRestaurant restaurant, double distanceMeters) {
+        if (farthestFirst.size() < limit) {
+            farthestFirst.add(new Neighbour(restaurant, distanceMeters));
+        } else if (limit > 0 && distanceMeters < farthestFirst.peek().distanceMeters()) {
+            farthestFirst.poll();
+            farthestFirst.add(new Neighbour(restaurant, distanceMeters));
+        }
+    }
+
+    boolean isFull() {
+        return farthestFirst.size() >= limit;
+    }
+
+    double worstDistance() {
+        return farthestFirst.isEmpty() ? Double.POSITIVE_INFINITY : farthestFirst.peek().distanceMeters();
+    }
+
+    List<Neighbour> sorted() {
+        List<Neighbour> neighbours = new ArrayList<>(farthestFirst);
+        neighbours.sort(BY_DISTANCE);
+        return neighbours;
+    }
+}
@@ -0,0 +1,95 @@
+package org.qrush.brand.restaurant.spatial;
+
+import org.qrush.brand.restaurant.dto.RestaurantDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index answering "restaurants near me" without touching the database.
+ * It is filled from the repository at start-up by {@link RestaurantSpatialIndexLoader} and kept current by
+ * {@link org.qrush.brand.restaurant.RestaurantService#createRestaurant}. Adding a restaurant is idempotent per
+ * id, so one created while the start-up load is streaming is only indexed once.
+ * <p>
+ * Besides the index over every restaurant, each brand gets its own partition, so a brand-filtered query
+ * only ever scores that brand's restaurants. Partitions of small brands fall under
+ * {@link GeoGridIndex#BRUTE_FORCE_THRESHOLD} and are simply scanned.
+ */
+@Component
+public class RestaurantSpatialIndex {
+
+    private final double cellSizeDegrees;
+    private final GeoGridIndex index;
+    private final Map<UUID, GeoGridIndex> brandPartitions = new HashMap<>();
+    private final Set<UUID> ids = new HashSet<>();
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    public RestaurantSpatialIndex(@Value("${restaurant.spatial-index.cell-size-degrees:0.05}") double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.index = new GeoGridIndex(cellSizeDegrees);
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    public void add(RestaurantDto restaurantDto) {
+        IndexedRestaurant restaurant = IndexedRestaurant.from(restaurantDto);
+        writeLock.lock();
+        try {
+            if (!ids.add(restaurant.id())) {
+                return;
+            }
+            index.add(restaurant);
+            brandPartitions.computeIfAbsent(restaurant.brandId(), brandId -> new GeoGridIndex(cellSizeDegrees)).add(restaurant);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<Neighbour> nearest(double latitude, double longitude, int k) {
+        readLock.lock();
+        try {
+            return index.nearest(latitude, longitude, k);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public List<Neighbour> nearestOfBrand(UUID brandId, double latitude, double longitude, int k) {
+        readLock.lock();
+        try {
+            GeoGridIndex partition = brandPartitions.get(brandId);
+            return partition == null ? List.of() : partition.nearest(latitude, longitude, k);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public List<Neighbour> withinRadius(double latitude, double longitude, double radiusMeters, int limit) {
+        readLock.lock();
+        try {
+            return index.withinRadius(latitude, longitude, radiusMeters, limit);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public int size() {
+        readLock.lock();
+        try {
+            return index.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.qrush.brand.restaurant.spatial;
+
+import lombok.extern.slf4j.Slf4j;
+import org.qrush.brand.restaurant.RestaurantRepository;
+import org.qrush.brand.restaurant.dto.RestaurantDto;
+import org.qrush.brand.restaurant.migration.LegacyLocationMigration;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills {@link RestaurantSpatialIndex} at start-up, after {@link LegacyLocationMigration} has had the chance to
+ * backfill coordinates. Application runners finish before Spring Boot reports the readiness state as accepting
+ * traffic, so {@code /actuator/health/readiness} stays out of service until the index is complete.
+ */
+@Slf4j
+@Component
+@Order(LegacyLocationMigration.ORDER + 1)
+public class RestaurantSpatialIndexLoader implements ApplicationRunner {
+
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public RestaurantSpatialIndexLoader(RestaurantRepository restaurantRepository, RestaurantSpatialIndex restaurantSpatialIndex, TransactionTemplate transactionTemplate) {
+        this.restaurantRepository = restaurantRepository;
+        this.restaurantSpatialIndex = restaurantSpatialIndex;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        // The repository stream holds an open cursor, so it has to be consumed inside a transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<RestaurantDto> restaurants = restaurantRepository.streamAll()) {
+                restaurants.forEach(restaurantSpatialIndex::add);
+            }
+        });
+
+        log.info("Loaded {} restaurants into the spatial index in {} ms",
+                restaurantSpatialIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,37 @@
+package org.qrush.brand.restaurant.spatial;
+
+public final class ScalarDistanceKernel implements DistanceKernel {
+
+    @Override
+    public void distances(CoordinateColumns columns, double latitude, double longitude, int[] slots, int count, double[] out) {
+        double cosLatitude = Math.cos(latitude);
+        double[] latitudes = columns.latitudes();
+        double[] longitudes = columns.longitudes();
+        double[] cosLatitudes = columns.cosLatitudes();
+
+        for (int i = 0; i < count; i++) {
+            int slot = slots[i];
+            out[i] = distance(latitude, longitude, cosLatitude, latitudes[slot], longitudes[slot], cosLatitudes[slot]);
+        }
+    }
+
+    @Override
+    public void distances(CoordinateColumns columns, double latitude, double longitude, int fromSlot, int count, double[] out) {
+        double cosLatitude = Math.cos(latitude);
+        double[] latitudes = columns.latitudes();
+        double[] longitudes = columns.longitudes();
+        double[] cosLatitudes = columns.cosLatitudes();
+
+        for (int i = 0; i < count; i++) {
+            int slot = fromSlot + i;
+            out[i] = distance(latitude, longitude, cosLatitude, latitudes[slot], longitudes[slot], cosLatitudes[slot]);
+        }
+    }
+
+    static double distance(double latitude1, double longitude1, double cosLatitude1, double latitude2, double longitude2, double cosLatitude2) {
+        double sinHalfDeltaPhi = Math.sin((latitude2 - latitude1) * 0.5);
+        double sinHalfDeltaLambda = Math.sin((longitude2 - longitude1) * 0.5);
+        double a = sinHalfDeltaPhi * sinHalfDeltaPhi + cosLatitude1 * cosLatitude2 * sinHalfDeltaLambda * sinHalfDeltaLambda;
+        return 2 * GeoDistance.EARTH_RADIUS_METERS * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+}
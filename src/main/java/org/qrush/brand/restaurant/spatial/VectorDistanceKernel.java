@@ -0,0 +1,68 @@
+package org.qrush.brand.restaurant.spatial;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Haversine over {@link CoordinateColumns} using the incubating Vector API. Cell members are gathered by
+ * slot, full scans load the columns directly; the tail that does not fill a vector is scored scalar.
+ * Only loaded through {@link DistanceKernel#best()} once the vector module is known to be present.
+ */
+final class VectorDistanceKernel implements DistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double DIAMETER_METERS = 2 * GeoDistance.EARTH_RADIUS_METERS;
+
+    @Override
+    public void distances(CoordinateColumns columns, double latitude, double longitude, int[] slots, int count, double[] out) {
+        double cosLatitude = Math.cos(latitude);
+        double[] latitudes = columns.latitudes();
+        double[] longitudes = columns.longitudes();
+        double[] cosLatitudes = columns.cosLatitudes();
+
+        int i = 0;
+        for (int upperBound = SPECIES.loopBound(count); i < upperBound; i += SPECIES.length()) {
+            DoubleVector candidateLatitudes = DoubleVector.fromArray(SPECIES, latitudes, 0, slots, i);
+            DoubleVector candidateLongitudes = DoubleVector.fromArray(SPECIES, longitudes, 0, slots, i);
+            DoubleVector candidateCosLatitudes = DoubleVector.fromArray(SPECIES, cosLatitudes, 0, slots, i);
+            haversine(latitude, longitude, cosLatitude, candidateLatitudes, candidateLongitudes, candidateCosLatitudes).intoArray(out, i);
+        }
+        for (; i < count; i++) {
+            int slot = slots[i];
+            out[i] = ScalarDistanceKernel.distance(latitude, longitude, cosLatitude, latitudes[slot], longitudes[slot], cosLatitudes[slot]);
+        }
+    }
+
+    @Override
+    public void distances(CoordinateColumns columns, double latitude, double longitude, int fromSlot, int count, double[] out) {
+        double cosLatitude = Math.cos(latitude);
+        double[] latitudes = columns.latitudes();
+        double[] longitudes = columns.longitudes();
+        double[] cosLatitudes = columns.cosLatitudes();
+
+        int i = 0;
+        for (int upperBound = SPECIES.loopBound(count); i < upperBound; i += SPECIES.length()) {
+            DoubleVector candidateLatitudes = DoubleVector.fromArray(SPECIES, latitudes, fromSlot + i);
+            DoubleVector candidateLongitudes = DoubleVector.fromArray(SPECIES, longitudes, fromSlot + i);
+            DoubleVector candidateCosLatitudes = DoubleVector.fromArray(SPECIES, cosLatitudes, fromSlot + i);
+            haversine(latitude, longitude, cosLatitude, candidateLatitudes, candidateLongitudes, candidateCosLatitudes).intoArray(out, i);
+        }
+        for (; i < count; i++) {
+            int slot = fromSlot + i;
+            out[i] = ScalarDistanceKernel.distance(latitude, longitude, cosLatitude, latitudes[slot], longitudes[slot], cosLatitudes[slot]);
+        }
+    }
+
+    private static DoubleVector haversine(double latitude, double longitude, double cosLatitude,
+                                          DoubleVector latitudes, DoubleVector longitudes, DoubleVector cosLatitudes) {
+        DoubleVector sinHalfDeltaPhi = latitudes.sub(latitude).mul(0.5).lanewise(VectorOperators.SIN);
+        DoubleVector sinHalfDeltaLambda = longitudes.sub(longitude).mul(0.5).lanewise(VectorOperators.SIN);
+        DoubleVector a = sinHalfDeltaPhi.mul(sinHalfDeltaPhi)
+                .add(cosLatitudes.mul(cosLatitude).mul(sinHalfDeltaLambda).mul(sinHalfDeltaLambda));
+        return a.min(1.0)
+                .lanewise(VectorOperators.SQRT)
+                .lanewise(VectorOperators.ASIN)
+                .mul(DIAMETER_METERS);
+    }
+}
@@ -0,0 +1,40 @@
+package org.qrush.brand.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application's {@link DataSource} in a datasource-proxy that times every JDBC statement, whether
+ * it comes from Hibernate or {@code JdbcTemplate}, and hands it to a {@link SlowQueryListener}. Replaces
+ * {@code spring.jpa.show-sql}, which printed every statement synchronously to stdout.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.slow-query-log.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final SlowQueryListener slowQueryListener;
+
+    public SlowQueryDataSourcePostProcessor(@Value("${sql.slow-query-log.threshold:PT0.2S}") Duration threshold,
+                                            @Value("${sql.slow-query-log.sample-rate:0}") double sampleRate,
+                                            @Value("${sql.slow-query-log.redact-parameters:true}") boolean redactParameters) {
+        this.slowQueryListener = new SlowQueryListener(threshold, sampleRate, redactParameters);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(slowQueryListener)
+                    .build();
+        }
+        return bean;
+    }
+}
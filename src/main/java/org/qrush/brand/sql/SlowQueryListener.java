@@ -0,0 +1,86 @@
+package org.qrush.brand.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs JDBC statements that take at least {@code threshold} at WARN, and a random {@code sampleRate}
+ * fraction of the faster ones at INFO, so the statement mix stays visible without logging every statement.
+ * Bind values are replaced with {@code ?} when {@code redactParameters} is set.
+ */
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final boolean redactParameters;
+
+    public SlowQueryListener(Duration threshold, double sampleRate, boolean redactParameters) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.redactParameters = redactParameters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        if (elapsedMillis >= thresholdMillis) {
+            if (log.isWarnEnabled()) {
+                log.warn("Slow statement took {} ms: {}", elapsedMillis, describe(execInfo, queryInfoList));
+            }
+        } else if (sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled statement took {} ms: {}", elapsedMillis, describe(execInfo, queryInfoList));
+        }
+    }
+
+    private String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StringBuilder description = new StringBuilder(256);
+        if (!execInfo.isSuccess()) {
+            description.append("(failed) ");
+        }
+        if (execInfo.isBatch()) {
+            description.append("(batch of ").append(execInfo.getBatchSize()).append(") ");
+        }
+        for (int q = 0; q < queryInfoList.size(); q++) {
+            QueryInfo queryInfo = queryInfoList.get(q);
+            if (q > 0) {
+                description.append("; ");
+            }
+            description.append(queryInfo.getQuery());
+            for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+                appendParameters(description, parameters);
+            }
+        }
+        return description.toString();
+    }
+
+    private void appendParameters(StringBuilder description, List<ParameterSetOperation> parameters) {
+        description.append(" [");
+        for (int p = 0; p < parameters.size(); p++) {
+            if (p > 0) {
+                description.append(", ");
+            }
+            Object[] args = parameters.get(p).getArgs();
+            if (redactParameters || args.length < 2) {
+                description.append('?');
+            } else {
+                String value = String.valueOf(args[1]);
+                description.append(value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) + "..." : value);
+            }
+        }
+        description.append(']');
+    }
+}
@@ -0,0 +1,43 @@
+package org.qrush.brand.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Starts a {@link ServerTimings} for each request. {@link ServerTimingAdvice} writes the header just before
+ * the body is serialized; responses that bypass it get the header here if they are not yet committed. With
+ * {@code org.qrush.brand.timing} logging at DEBUG, a line per request also reports the time spent writing
+ * the response, which the header cannot include.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ServerTimings timings = new ServerTimings(System.nanoTime());
+        request.setAttribute(ServerTimings.ATTRIBUTE, timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long now = System.nanoTime();
+            if (!response.isCommitted() && !response.containsHeader(ServerTimings.HEADER)) {
+                response.setHeader(ServerTimings.HEADER, timings.toHeaderValue(now));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("{} {} {}: {}, write;dur={}", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        timings.toHeaderValue(now), String.format(Locale.ROOT, "%.3f", timings.sinceLastMark(now) / 1_000_000.0));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.qrush.brand.timing;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds the time each JDBC statement or batch takes to execute to the request's {@code db} timing. Hibernate
+ * creates one listener per session, so the start time needs no synchronisation.
+ */
+public class ServerTimingSessionListener extends BaseSessionEventListener {
+
+    private long statementStartedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        ServerTimings timings = ServerTimings.current();
+        if (timings != null) {
+            timings.addStatement(System.nanoTime() - statementStartedAt);
+        }
+    }
+}
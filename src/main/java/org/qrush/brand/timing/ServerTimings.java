@@ -0,0 +1,103 @@
+package org.qrush.brand.timing;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+
+/**
+ * Phase timings of one request, reported in the {@code Server-Timing} header when {@code server-timing.enabled}
+ * is set.
+ * <p>
+ * Phases are sequential: {@link #phase(String)} ends the phase that has been running since the previous mark
+ * (or since the request started) and names it, so services only mark where each step finishes. A phase
+ * marked more than once in a request accumulates. Time spent executing JDBC statements is tracked
+ * separately, as {@code db}, because it overlaps the phases.
+ * <p>
+ * When timing is disabled no {@code ServerTimings} is put on the request and {@link #phase(String)} is a
+ * request attribute lookup that allocates nothing.
+ */
+public final class ServerTimings {
+
+    public static final String HEADER = "Server-Timing";
+    static final String ATTRIBUTE = ServerTimings.class.getName();
+    private static final int MAX_PHASES = 16;
+
+    private final long startedAt;
+    private final String[] names = new String[MAX_PHASES];
+    private final long[] durations = new long[MAX_PHASES];
+    private int size;
+    private long cursor;
+    private long databaseNanos;
+    private int statements;
+
+    ServerTimings(long startedAt) {
+        this.startedAt = startedAt;
+        this.cursor = startedAt;
+    }
+
+    /**
+     * Ends the current phase of the request being served on this thread, no-op when timing is disabled or
+     * outside a request.
+     */
+    public static void phase(String name) {
+        ServerTimings timings = current();
+        if (timings != null) {
+            timings.mark(name, System.nanoTime());
+        }
+    }
+
+    static ServerTimings current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof ServerTimings timings) {
+            return timings;
+        }
+        return null;
+    }
+
+    void mark(String name, long now) {
+        long duration = now - cursor;
+        cursor = now;
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) {
+                durations[i] += duration;
+                return;
+            }
+        }
+        // Past the limit the time is still counted in the total, just not broken out
+        if (size < MAX_PHASES) {
+            names[size] = name;
+            durations[size] = duration;
+            size++;
+        }
+    }
+
+    void addStatement(long nanos) {
+        databaseNanos += nanos;
+        statements++;
+    }
+
+    /**
+     * @return the phases marked so far, then {@code db} and {@code total} up to {@code now}, as a
+     * {@code Server-Timing} header value
+     */
+    String toHeaderValue(long now) {
+        StringBuilder value = new StringBuilder(32 * (size + 2));
+        for (int i = 0; i < size; i++) {
+            appendMetric(value, names[i], durations[i]);
+            value.append(", ");
+        }
+        appendMetric(value, "db", databaseNanos);
+        value.append(";desc=\"").append(statements).append(" statements\", ");
+        appendMetric(value, "total", now - startedAt);
+        return value.toString();
+    }
+
+    long sinceLastMark(long now) {
+        return now - cursor;
+    }
+
+    private static void appendMetric(StringBuilder value, String name, long nanos) {
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
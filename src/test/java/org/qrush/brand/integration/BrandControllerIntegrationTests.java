@@ -2,33 +2,65 @@ package org.qrush.brand.integration;
 
 import jakarta.annotation.PostConstruct;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.qrush.brand.brand.BrandRepository;
 import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandLookupRequest;
+import org.qrush.brand.brand.dto.BrandLookupResponse;
 import org.qrush.brand.brand.dto.BrandResponse;
+import org.qrush.brand.brand.dto.BulkBrandResult;
+import org.qrush.brand.brand.filter.BrandIdFilter;
 import org.qrush.brand.brand.models.Brand;
 import org.qrush.brand.integration.base.AbstractIntegrationTest;
 import org.qrush.brand.integration.base.ExtendedProblemDetails;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@Slf4j
 public class BrandControllerIntegrationTests extends AbstractIntegrationTest {
 
     @Autowired
     private BrandRepository brandRepository;
+
+    @Autowired
+    private BrandIdFilter brandIdFilter;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
     private BrandDto brandDto;
 
     @PostConstruct
@@ -86,6 +118,45 @@ public class BrandControllerIntegrationTests extends AbstractIntegrationTest {
         assertEquals(HttpStatus.CONFLICT.value(), problemDetail.getStatus());
         assertEquals("Brand name already exists", problemDetail.getDetail());
     }
+
+    @Test
+    @DisplayName("Concurrency Test: many concurrent creates of one name create exactly one brand")
+    void brandControllerIntegration_CreateBrand_GivenConcurrentCreatesOfSameName_CreatesExactlyOne() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 25;
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        List<Future<?>> clients = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            clients.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    ResponseEntity<String> response = restTemplate.postForEntity(BRAND_API_ENDPOINT, brandDto, String.class);
+                    statuses.computeIfAbsent(response.getStatusCode().value(), status -> new AtomicInteger()).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> client : clients) {
+            client.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        executor.shutdown();
+
+        int attempts = threads * attemptsPerThread;
+        log.info("{} concurrent creates of one brand name in {} ms ({} requests/s), responses by status: {}",
+                attempts, elapsedMillis, attempts * 1000L / elapsedMillis, statuses);
+
+        assertEquals(1, statuses.get(HttpStatus.CREATED.value()).get());
+        assertEquals(attempts - 1, statuses.get(HttpStatus.CONFLICT.value()).get());
+        assertEquals(2, statuses.size());
+        assertEquals(1, brandRepository.count());
+    }
     //endregion
 
     //region GET "/id"
@@ -104,6 +175,31 @@ public class BrandControllerIntegrationTests extends AbstractIntegrationTest {
         assertNotNull(brandResponse.getId());
     }
 
+    @Test
+    @DisplayName("Happy Path Test: unchanged brand is answered with not modified until it is updated")
+    void brandControllerIntegration_GetBrandById_GivenIfNoneMatch_ReturnsNotModifiedUntilUpdated() throws Exception {
+        Brand brand = brandRepository.save(generateBrand());
+        String path = BRAND_API_ENDPOINT + "/" + brand.getId();
+
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get(path))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"0\"", eTag);
+
+        MvcResult notModified = mockMvc.perform(MockMvcRequestBuilders.get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertEquals("", notModified.getResponse().getContentAsString());
+
+        performPutRequestExpectedSuccess(path, BrandDto.builder().name("Costa").build(), BrandDto.class);
+
+        MvcResult modified = mockMvc.perform(MockMvcRequestBuilders.get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals("\"1\"", modified.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
     @Test
     @DisplayName("Exception Test: brand does not exist")
     void brandControllerIntegration_GetBrandById_WhenBrandNotFound_ReturnsNotFound() throws Exception {
@@ -113,6 +209,38 @@ public class BrandControllerIntegrationTests extends AbstractIntegrationTest {
         assertNotNull(problemDetail);
         assertEquals(HttpStatus.NOT_FOUND.value(), problemDetail.getStatus());
         assertEquals("Brand could not be found", problemDetail.getDetail());
+        // The id filter is opt-in, so the miss was answered by the database
+        assertEquals(0, brandIdFilter.rejectedCount());
+    }
+    //endregion
+
+    //region GET "?ids=" and POST "/lookup"
+    @Test
+    @DisplayName("Happy Path Test: looks up many brands in one request")
+    void brandControllerIntegration_GetBrandsByIds_ReturnsFoundAndMissing() throws Exception {
+        Brand starbucks = brandRepository.save(generateBrand());
+        Brand costa = brandRepository.save(Brand.builder().name("Costa").build());
+        UUID missingId = UUID.randomUUID();
+
+        BrandLookupResponse lookupResponse = performGetRequestExpectedSuccess(
+                BRAND_API_ENDPOINT + "?ids=" + costa.getId() + "," + missingId + "," + starbucks.getId(), BrandLookupResponse.class);
+
+        assertEquals(List.of("Costa", "Starbucks"), lookupResponse.getContent().stream().map(BrandDto::getName).toList());
+        assertEquals(List.of(missingId), lookupResponse.getMissing());
+    }
+
+    @Test
+    @DisplayName("Happy Path Test: looks up brands posted in the body")
+    void brandControllerIntegration_LookupBrands_ReturnsFoundAndMissing() throws Exception {
+        Brand starbucks = brandRepository.save(generateBrand());
+        UUID missingId = UUID.randomUUID();
+
+        BrandLookupResponse lookupResponse = performPostRequestExpectedSuccess(BRAND_API_ENDPOINT + "/lookup",
+                BrandLookupRequest.builder().ids(List.of(starbucks.getId(), missingId)).build(), BrandLookupResponse.class);
+
+        assertEquals(1, lookupResponse.getContent().size());
+        assertEquals(starbucks.getId(), lookupResponse.getContent().getFirst().getId());
+        assertEquals(List.of(missingId), lookupResponse.getMissing());
     }
     //endregion
 
@@ -143,6 +271,76 @@ public class BrandControllerIntegrationTests extends AbstractIntegrationTest {
         assertEquals(pageNo, brandResponse.getPageNumber());
         assertEquals(pageSize, brandResponse.getPageSize());
         assertEquals(brandDtoExpectedResponse, brandResponse.getContent().getFirst());
+        assertEquals(1L, brandResponse.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Happy Path Test: unchanged page is answered with not modified until a brand is added")
+    void brandControllerIntegration_GetAllBrands_GivenIfNoneMatch_ReturnsNotModifiedUntilPageChanges() throws Exception {
+        brandRepository.save(generateBrand());
+        String path = BRAND_API_ENDPOINT + "?pageNo=0&pageSize=10";
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        Brand costa = brandRepository.save(Brand.builder().name("Costa").build());
+
+        String insertedETag = mockMvc.perform(MockMvcRequestBuilders.get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        performPutRequestExpectedSuccess(BRAND_API_ENDPOINT + "/" + costa.getId(), BrandDto.builder().name("Costa Coffee").build(), BrandDto.class);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(path).header(HttpHeaders.IF_NONE_MATCH, insertedETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Happy Path Test: page is not answered with not modified after a delete followed by a create")
+    void brandControllerIntegration_GetAllBrands_GivenIfNoneMatchAfterDeleteThenCreate_ReturnsPage() throws Exception {
+        brandRepository.save(generateBrand());
+        Brand costa = brandRepository.save(Brand.builder().name("Costa").build());
+        String path = BRAND_API_ENDPOINT + "?pageNo=0&pageSize=10";
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        performDeleteRequestExpectedSuccess(String.format("%s/%s/delete", BRAND_API_ENDPOINT, costa.getId()));
+        performPostRequestExpectedSuccess(BRAND_API_ENDPOINT, BrandDto.builder().name("Caffe Nero").build(), BrandDto.class);
+
+        String recreatedETag = mockMvc.perform(MockMvcRequestBuilders.get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, recreatedETag);
+    }
+
+    @Test
+    @DisplayName("Happy Path Test: gets slice response without totals")
+    void brandControllerIntegration_GetAllBrands_GivenWithTotalsFalse_ReturnsResponseDtoWithoutTotals() throws Exception {
+        Brand brand = generateBrand();
+        brandRepository.save(brand);
+
+        var uri = UriComponentsBuilder.fromUri(new URI(BRAND_API_ENDPOINT))
+                .queryParam("pageNo", 0)
+                .queryParam("pageSize", 10)
+                .queryParam("withTotals", false)
+                .build().toUri()
+                .toString();
+
+        BrandResponse brandResponse = performGetRequestExpectedSuccess(uri, BrandResponse.class);
+
+        assertNotNull(brandResponse);
+        assertEquals(1, brandResponse.getContent().size());
+        assertTrue(brandResponse.isLast());
+        assertNull(brandResponse.getTotalElements());
+        assertNull(brandResponse.getTotalPages());
     }
 
     @Test
@@ -170,6 +368,93 @@ public class BrandControllerIntegrationTests extends AbstractIntegrationTest {
     }
     //endregion
 
+    //region GET "/export"
+    @Test
+    @DisplayName("Happy Path Test: export streams every brand as NDJSON")
+    void brandControllerIntegration_ExportBrands_ReturnsNdjson() throws Exception {
+        brandRepository.save(Brand.builder().name("Starbucks").build());
+        brandRepository.save(Brand.builder().name("Costa").build());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(BRAND_API_ENDPOINT + "/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(result.getResponse().getContentType())));
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertNotNull(mapper.readValue(lines[0], BrandDto.class).getId());
+    }
+
+    @Test
+    @DisplayName("Happy Path Test: export is gzip compressed when the client accepts it")
+    void brandControllerIntegration_ExportBrands_GivenAcceptEncodingGzip_ReturnsCompressedNdjson() throws Exception {
+        brandRepository.save(Brand.builder().name("Starbucks").build());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(BRAND_API_ENDPOINT + "/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            BrandDto exported = mapper.readValue(new String(in.readAllBytes(), StandardCharsets.UTF_8).trim(), BrandDto.class);
+            assertEquals("Starbucks", exported.getName());
+        }
+    }
+    //endregion
+
+    //region POST "/bulk"
+    @Test
+    @DisplayName("Happy Path Test: bulk import creates new brands and reports existing, duplicate and invalid ones")
+    void brandControllerIntegration_CreateBrands_ReturnsPerItemResults() throws Exception {
+        brandRepository.save(generateBrand());
+        List<BrandDto> brands = List.of(
+                BrandDto.builder().name("Costa").build(),
+                BrandDto.builder().name("Starbucks").build(),
+                BrandDto.builder().name("Costa").build(),
+                BrandDto.builder().name("").build());
+
+        BulkBrandResult[] results = performPostRequestExpectedSuccess(BRAND_API_ENDPOINT + "/bulk", brands, BulkBrandResult[].class);
+
+        assertEquals(4, results.length);
+        assertEquals(BulkBrandResult.Status.CREATED, results[0].getStatus());
+        assertNotNull(results[0].getId());
+        assertEquals(BulkBrandResult.Status.ALREADY_EXISTS, results[1].getStatus());
+        assertEquals(BulkBrandResult.Status.DUPLICATE_IN_REQUEST, results[2].getStatus());
+        assertEquals(BulkBrandResult.Status.INVALID, results[3].getStatus());
+        assertEquals(2, brandRepository.count());
+    }
+
+    @Test
+    @DisplayName("Happy Path Test: bulk import accepts newline delimited JSON")
+    void brandControllerIntegration_CreateBrands_GivenNdjson_ReturnsPerItemResults() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(BRAND_API_ENDPOINT + "/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Starbucks\"}\n{\"name\":\"Costa\"}\n"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        BulkBrandResult[] results = mapper.readValue(result.getResponse().getContentAsString(), BulkBrandResult[].class);
+
+        assertEquals(2, results.length);
+        assertEquals(BulkBrandResult.Status.CREATED, results[0].getStatus());
+        assertEquals(BulkBrandResult.Status.CREATED, results[1].getStatus());
+        assertTrue(brandRepository.findByName("Costa").isPresent());
+    }
+
+    @Test
+    @DisplayName("Exception Test: malformed bulk import returns bad request")
+    void brandControllerIntegration_CreateBrands_GivenMalformedJson_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(BRAND_API_ENDPOINT + "/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Starbucks\"}\n{\"name\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Malformed brand at index 1"));
+
+        assertEquals(0, brandRepository.count());
+    }
+    //endregion
+
     //region PUT "/id"
     @Test
     @DisplayName("Happy Path Test: update and return brand")
@@ -188,6 +473,55 @@ public class BrandControllerIntegrationTests extends AbstractIntegrationTest {
         assertNotNull(updatedBrand.getId());
     }
 
+    @Test
+    @DisplayName("Happy Path Test: update with a current If-Match succeeds once, a second use of it is rejected")
+    void brandControllerIntegration_UpdateBrand_GivenIfMatch_UpdatesOnceThenReturnsPreconditionFailed() throws Exception {
+        Brand brand = brandRepository.save(generateBrand());
+        String path = BRAND_API_ENDPOINT + "/" + brand.getId();
+
+        MvcResult updated = mockMvc.perform(MockMvcRequestBuilders.put(path)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(BrandDto.builder().name("Costa").build())))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals("\"1\"", updated.getResponse().getHeader(HttpHeaders.ETAG));
+
+        MvcResult stale = mockMvc.perform(MockMvcRequestBuilders.put(path)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(BrandDto.builder().name("Nero").build())))
+                .andExpect(status().isPreconditionFailed())
+                .andReturn();
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), mapper.readValue(stale.getResponse().getContentAsString(), ProblemDetail.class).getStatus());
+
+        BrandDto current = performGetRequestExpectedSuccess(path, BrandDto.class);
+        assertEquals("Costa", current.getName());
+    }
+
+    @Test
+    @DisplayName("Exception Test: update with If-Match of a brand that does not exist returns not found")
+    void brandControllerIntegration_UpdateBrand_GivenIfMatchAndBrandNotFound_ReturnsNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put(BRAND_API_ENDPOINT + "/" + UUID.randomUUID())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(brandDto)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Exception Test: update with If-Match to a name that is taken returns conflict")
+    void brandControllerIntegration_UpdateBrand_GivenIfMatchAndNameTaken_ReturnsConflict() throws Exception {
+        brandRepository.save(Brand.builder().name("Costa").build());
+        Brand brand = brandRepository.save(generateBrand());
+
+        mockMvc.perform(MockMvcRequestBuilders.put(BRAND_API_ENDPOINT + "/" + brand.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(BrandDto.builder().name("Costa").build())))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("Exception Test: brand name must not be null")
     void brandControllerIntegration_UpdateBrand_GivenNullBrandName_ReturnsBadRequest() throws Exception {
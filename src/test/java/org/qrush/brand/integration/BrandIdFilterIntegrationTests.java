@@ -0,0 +1,50 @@
+package org.qrush.brand.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.filter.BrandIdFilter;
+import org.qrush.brand.integration.base.AbstractIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@TestPropertySource(properties = "brand.id-filter.enabled=true")
+public class BrandIdFilterIntegrationTests extends AbstractIntegrationTest {
+
+    @Autowired
+    private BrandIdFilter brandIdFilter;
+
+    //region GET "/{brand_id}"
+    @Test
+    @DisplayName("Exception Test: an unknown brand id is rejected by the brand id filter")
+    void brandIdFilterIntegration_GetBrandById_WhenBrandNotFound_IsRejectedByBrandIdFilter() throws Exception {
+
+        ProblemDetail problemDetail = performGetRequestExpectClientError(BRAND_API_ENDPOINT + "/" + UUID.randomUUID(), ProblemDetail.class);
+
+        assertNotNull(problemDetail);
+        assertEquals(HttpStatus.NOT_FOUND.value(), problemDetail.getStatus());
+        assertEquals("Brand could not be found", problemDetail.getDetail());
+        assertEquals(1, brandIdFilter.rejectedCount());
+    }
+
+    @Test
+    @DisplayName("Happy Path Test: brand id filter follows creates and deletes")
+    void brandIdFilterIntegration_GetBrandById_GivenCreatedThenDeletedBrand_IsRejectedByBrandIdFilter() throws Exception {
+        BrandDto createdBrand = performPostRequestExpectedSuccess(BRAND_API_ENDPOINT, generateBrandDto(), BrandDto.class);
+        performGetRequestExpectedSuccess(BRAND_API_ENDPOINT + "/" + createdBrand.getId(), BrandDto.class);
+
+        performDeleteRequestExpectedSuccess(String.format("%s/%s/delete", BRAND_API_ENDPOINT, createdBrand.getId()));
+        ProblemDetail problemDetail = performGetRequestExpectClientError(BRAND_API_ENDPOINT + "/" + createdBrand.getId(), ProblemDetail.class);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), problemDetail.getStatus());
+        assertEquals(1, brandIdFilter.rejectedCount());
+    }
+    //endregion
+}
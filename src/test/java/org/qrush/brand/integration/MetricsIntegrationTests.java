@@ -0,0 +1,47 @@
+package org.qrush.brand.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.brand.BrandRepository;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.integration.base.AbstractIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureObservability
+public class MetricsIntegrationTests extends AbstractIntegrationTest {
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    //region GET "/actuator/prometheus"
+    @Test
+    @DisplayName("Happy Path Test: request, statement, pool and cache metrics are scraped with bounded tags")
+    void metricsIntegration_Prometheus_AfterBrandLookups_ExposesMetrics() throws Exception {
+        Brand brand = brandRepository.save(generateBrand());
+        String path = BRAND_API_ENDPOINT + "/" + brand.getId();
+        performGetRequestExpectedSuccess(path, BrandDto.class);
+        performGetRequestExpectedSuccess(path, BrandDto.class);
+
+        String scrape = mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket"));
+        assertTrue(scrape.contains("controller=\"BrandController\""));
+        assertTrue(scrape.contains("handler=\"getBrand\""));
+        assertTrue(scrape.contains("uri=\"/brand/{id}\""));
+        assertTrue(scrape.contains("hibernate_statements_per_request"));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_bucket"));
+        assertTrue(scrape.contains("cache_gets_total{"));
+        assertTrue(scrape.contains("cache=\"brand.byId\""));
+        assertFalse(scrape.contains(brand.getId().toString()));
+    }
+    //endregion
+}
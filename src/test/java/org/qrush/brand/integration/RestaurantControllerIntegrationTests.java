@@ -7,16 +7,20 @@ import org.qrush.brand.brand.models.Brand;
 import org.qrush.brand.integration.base.AbstractIntegrationTest;
 import org.qrush.brand.integration.base.ExtendedProblemDetails;
 import org.qrush.brand.restaurant.RestaurantRepository;
+import org.qrush.brand.restaurant.dto.NearbyRestaurantDto;
 import org.qrush.brand.restaurant.dto.RestaurantDto;
 import org.qrush.brand.restaurant.models.Restaurant;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.geo.Point;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class RestaurantControllerIntegrationTests extends AbstractIntegrationTest {
 
@@ -191,7 +195,8 @@ public class RestaurantControllerIntegrationTests extends AbstractIntegrationTes
         Restaurant restaurant = Restaurant.builder()
                 .name(restaurantDto.getName())
                 .address("456 Main Street")
-                .location(new Point(80, 80))
+                .latitude(80.0)
+                .longitude(80.0)
                 .brand(savedBrand)
                 .build();
 
@@ -219,5 +224,37 @@ public class RestaurantControllerIntegrationTests extends AbstractIntegrationTes
         assertEquals("Brand could not be found", problemDetail.getDetail());
     }
     //endregion
-}
 
+    // region GET nearby
+    @Test
+    @DisplayName("Happy Path Test: created restaurant is returned by nearby search")
+    void restaurantControllerIntegration_GetNearbyRestaurants_ReturnsCreatedRestaurant() throws Exception {
+        RestaurantDto createdRestaurant = performPostRequestExpectedSuccess(url, restaurantDto, RestaurantDto.class);
+
+        var nearbyUrl = String.format("/restaurant/nearby?lat=%s&lon=%s&limit=5", restaurantDto.getLatitude(), restaurantDto.getLongitude());
+        NearbyRestaurantDto[] nearby = performGetRequestExpectedSuccess(nearbyUrl, NearbyRestaurantDto[].class);
+
+        assertEquals(1, nearby.length);
+        assertEquals(createdRestaurant.getId(), nearby[0].getId());
+        assertEquals(0.0, nearby[0].getDistanceMeters(), 1.0);
+    }
+    //endregion
+
+    // region GET export
+    @Test
+    @DisplayName("Happy Path Test: export streams every restaurant as NDJSON")
+    void restaurantControllerIntegration_ExportRestaurants_ReturnsNdjson() throws Exception {
+        RestaurantDto createdRestaurant = performPostRequestExpectedSuccess(url, restaurantDto, RestaurantDto.class);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/restaurant/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        RestaurantDto exported = mapper.readValue(lines[0], RestaurantDto.class);
+        assertEquals(createdRestaurant.getId(), exported.getId());
+        assertEquals(savedBrand.getId(), exported.getBrandId());
+    }
+    //endregion
+}
@@ -0,0 +1,61 @@
+package org.qrush.brand.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.brand.BrandRepository;
+import org.qrush.brand.brand.models.Brand;
+import org.qrush.brand.integration.base.AbstractIntegrationTest;
+import org.qrush.brand.timing.ServerTimings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "server-timing.enabled=true")
+public class ServerTimingIntegrationTests extends AbstractIntegrationTest {
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    //region POST "/brand/{brand_id}/restaurant"
+    @Test
+    @DisplayName("Happy Path Test: restaurant create reports each phase and database time")
+    void serverTimingIntegration_CreateRestaurant_ReturnsServerTimingHeader() throws Exception {
+        Brand brand = brandRepository.save(generateBrand());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(BRAND_API_ENDPOINT + "/" + brand.getId() + "/restaurant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(generateRestaurantDto())))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String header = result.getResponse().getHeader(ServerTimings.HEADER);
+        assertNotNull(header);
+        for (String phase : new String[]{"dispatch;", "read;", "validate;", "brand;", "insert;", "index;", "handler;", "total;"}) {
+            assertTrue(header.contains(phase), header);
+        }
+        assertTrue(header.matches(".*db;dur=\\d+\\.\\d{3};desc=\"[1-9]\\d* statements\".*"), header);
+    }
+
+    @Test
+    @DisplayName("Exception Test: a conflicting create still reports its timings")
+    void serverTimingIntegration_CreateBrand_GivenBrandAlreadyExists_ReturnsServerTimingHeader() throws Exception {
+        brandRepository.save(generateBrand());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post(BRAND_API_ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(generateBrandDto())))
+                .andExpect(status().isConflict())
+                .andReturn();
+
+        String header = result.getResponse().getHeader(ServerTimings.HEADER);
+        assertNotNull(header);
+        assertTrue(header.contains("insert;"), header);
+    }
+    //endregion
+}
@@ -0,0 +1,196 @@
+package org.qrush.brand.unit.brand;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.brand.cache.BrandCache;
+import org.qrush.brand.brand.dto.BrandDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrandCacheTests {
+
+    private BrandCache brandCache;
+    private BrandDto brandDto;
+
+    @BeforeEach
+    public void setup() {
+        brandCache = new BrandCache(100, Duration.ofMinutes(10));
+
+        brandDto = BrandDto.builder()
+                .id(UUID.randomUUID())
+                .name("Starbucks")
+                .build();
+    }
+
+    @Test
+    public void brandCache_GetById_LoadsOnceThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        brandCache.getById(brandDto.getId(), id -> { loads.incrementAndGet(); return brandDto; });
+        Optional<BrandDto> cachedBrand = brandCache.getById(brandDto.getId(), id -> { loads.incrementAndGet(); return brandDto; });
+
+        assertEquals(Optional.of(brandDto), cachedBrand);
+        assertEquals(1, loads.get());
+        assertEquals(1, brandCache.byIdStats().hitCount());
+        assertEquals(1, brandCache.byIdStats().missCount());
+    }
+
+    @Test
+    public void brandCache_GetAllById_LoadsOnlyUncachedIdsInOneCall() {
+        UUID missingId = UUID.randomUUID();
+        brandCache.getById(brandDto.getId(), id -> brandDto);
+        AtomicInteger loads = new AtomicInteger();
+
+        Map<UUID, BrandDto> brands = brandCache.getAllById(List.of(brandDto.getId(), missingId), ids -> {
+            loads.incrementAndGet();
+            assertEquals(1, ids.size());
+            return Map.of();
+        });
+
+        assertEquals(Map.of(brandDto.getId(), brandDto), brands);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void brandCache_GetById_GivenLoaderReturnsNull_DoesNotCacheMiss() {
+        AtomicInteger loads = new AtomicInteger();
+
+        brandCache.getById(brandDto.getId(), id -> { loads.incrementAndGet(); return null; });
+        Optional<BrandDto> cachedBrand = brandCache.getById(brandDto.getId(), id -> { loads.incrementAndGet(); return null; });
+
+        assertTrue(cachedBrand.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void brandCache_Evict_RemovesIdAndNameEntries() {
+        brandCache.getById(brandDto.getId(), id -> brandDto);
+        brandCache.getIdByName(brandDto.getName(), name -> brandDto.getId());
+
+        brandCache.evict(brandDto.getId(), brandDto.getName());
+
+        assertTrue(brandCache.getById(brandDto.getId(), id -> null).isEmpty());
+        assertTrue(brandCache.getIdByName(brandDto.getName(), name -> null).isEmpty());
+    }
+
+    @Test
+    public void brandCache_EvictById_RemovesIdEntryAndNameEntriesOfThatId() {
+        UUID otherId = UUID.randomUUID();
+        brandCache.getById(brandDto.getId(), id -> brandDto);
+        brandCache.getIdByName(brandDto.getName(), name -> brandDto.getId());
+        brandCache.getIdByName("Costa", name -> otherId);
+
+        brandCache.evict(brandDto.getId());
+
+        assertTrue(brandCache.getById(brandDto.getId(), id -> null).isEmpty());
+        assertTrue(brandCache.getIdByName(brandDto.getName(), name -> null).isEmpty());
+        assertEquals(Optional.of(otherId), brandCache.getIdByName("Costa", name -> null));
+    }
+
+    @Test
+    public void brandCache_EvictById_GivenNameAlreadyEvictedAndReused_KeepsNewNameEntry() {
+        UUID otherId = UUID.randomUUID();
+        brandCache.getIdByName(brandDto.getName(), name -> brandDto.getId());
+        brandCache.evict(brandDto.getId(), brandDto.getName());
+        brandCache.getIdByName(brandDto.getName(), name -> otherId);
+
+        brandCache.evict(brandDto.getId());
+
+        assertEquals(Optional.of(otherId), brandCache.getIdByName(brandDto.getName(), name -> null));
+    }
+
+    @Test
+    public void brandCache_GetById_GivenConcurrentCallers_LoadsOnceAndSharesResult() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            List<Future<Optional<BrandDto>>> results = submitLookups(executor, callers, id -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return brandDto;
+            });
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            awaitCoalesced(callers - 1);
+            release.countDown();
+
+            for (Future<Optional<BrandDto>> result : results) {
+                assertEquals(Optional.of(brandDto), result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, brandCache.byIdCoalescedCount());
+    }
+
+    @Test
+    public void brandCache_GetById_GivenConcurrentCallersAndLoaderThrows_AllReceiveExceptionAndNothingIsCached() throws Exception {
+        int callers = 8;
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            List<Future<Optional<BrandDto>>> results = submitLookups(executor, callers, id -> {
+                loading.countDown();
+                await(release);
+                throw failure;
+            });
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            awaitCoalesced(callers - 1);
+            release.countDown();
+
+            for (Future<Optional<BrandDto>> result : results) {
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertSame(failure, exception.getCause());
+            }
+        }
+
+        assertEquals(Optional.of(brandDto), brandCache.getById(brandDto.getId(), id -> brandDto));
+    }
+
+    private List<Future<Optional<BrandDto>>> submitLookups(ExecutorService executor, int callers, Function<UUID, BrandDto> loader) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<BrandDto>>> results = Stream.generate(() -> executor.submit(() -> {
+            start.await();
+            return brandCache.getById(brandDto.getId(), loader);
+        })).limit(callers).toList();
+        start.countDown();
+        return results;
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (brandCache.byIdCoalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, brandCache.byIdCoalescedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -8,11 +8,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.qrush.brand.brand.BrandController;
+import org.qrush.brand.brand.BrandImportService;
 import org.qrush.brand.brand.BrandService;
+import org.qrush.brand.brand.dto.BrandCursorResponse;
 import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandLookupRequest;
+import org.qrush.brand.brand.dto.BrandLookupResponse;
 import org.qrush.brand.brand.dto.BrandResponse;
+import org.qrush.brand.brand.dto.BulkBrandResult;
 import org.qrush.brand.brand.exceptions.BrandAlreadyExists;
+import org.qrush.brand.brand.exceptions.BrandConcurrentModificationException;
 import org.qrush.brand.brand.exceptions.BrandNotFoundException;
+import org.qrush.brand.brand.exceptions.BrandVersionMismatchException;
+import org.qrush.brand.brand.exceptions.InvalidCursorException;
+import org.qrush.brand.brand.exceptions.InvalidPageSizeException;
+import org.qrush.brand.brand.exceptions.TooManyBrandIdsException;
 import org.qrush.brand.brand.models.Brand;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -42,6 +52,9 @@ class BrandControllerTests {
     @MockBean
     private BrandService brandService;
 
+    @MockBean
+    private BrandImportService brandImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
     private Brand brand;
@@ -125,6 +138,31 @@ class BrandControllerTests {
         response.andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(brandDto)));
     }
 
+    @Test
+    void brandController_GetBrandById_ReturnsVersionAsETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        brandDto.setVersion(3L);
+        when(brandService.getBrandById(id)).thenReturn(brandDto);
+
+        ResultActions response = mockMvc.perform(get("/brand/" + id));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.header().string("ETag", "\"3\""));
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void brandController_GetBrandById_GivenMatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        UUID id = UUID.randomUUID();
+        brandDto.setVersion(3L);
+        when(brandService.getBrandById(id)).thenReturn(brandDto);
+
+        ResultActions response = mockMvc.perform(get("/brand/" + id).header("If-None-Match", "\"3\""));
+
+        response.andExpect(MockMvcResultMatchers.status().isNotModified());
+        response.andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     @Test
     void brandController_GetBrandById_WhenBrandNotFound_ReturnsNotFound() throws Exception {
         UUID id = UUID.randomUUID();
@@ -150,7 +188,7 @@ class BrandControllerTests {
     @Test
     void brandController_GetAllBrands_ReturnsResponseDto() throws Exception {
         BrandResponse responseDto = BrandResponse.builder().pageNumber(0).pageSize(10).content(Collections.singletonList(brandDto)).build();
-        when(brandService.getAllBrands(0, 10)).thenReturn(responseDto);
+        when(brandService.getAllBrands(0, 10, true)).thenReturn(responseDto);
 
         ResultActions response = mockMvc.perform(get("/brand")
                 .param("pageNo", "0")
@@ -158,11 +196,45 @@ class BrandControllerTests {
 
         response.andExpect(MockMvcResultMatchers.status().isOk());
         response.andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(responseDto)));
+        verify(brandService, times(1)).getAllBrands(0, 10, true);
+    }
+
+    @Test
+    void brandController_GetAllBrands_GivenMatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        brandDto.setId(UUID.randomUUID());
+        brandDto.setVersion(0L);
+        BrandResponse responseDto = BrandResponse.builder().pageNumber(0).pageSize(10).content(Collections.singletonList(brandDto)).build();
+        when(brandService.getAllBrands(0, 10, true)).thenReturn(responseDto);
+
+        String eTag = mockMvc.perform(get("/brand").param("pageNo", "0").param("pageSize", "10"))
+                .andReturn().getResponse().getHeader("ETag");
+        ResultActions response = mockMvc.perform(get("/brand")
+                .param("pageNo", "0")
+                .param("pageSize", "10")
+                .header("If-None-Match", eTag));
+
+        response.andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    @Test
+    void brandController_GetAllBrands_GivenWithTotalsFalse_ReturnsSliceWithoutTotals() throws Exception {
+        BrandResponse responseDto = BrandResponse.builder().pageNumber(0).pageSize(10).content(Collections.singletonList(brandDto)).last(true).build();
+        when(brandService.getAllBrands(0, 10, false)).thenReturn(responseDto);
+
+        ResultActions response = mockMvc.perform(get("/brand")
+                .param("pageNo", "0")
+                .param("pageSize", "10")
+                .param("withTotals", "false"));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.totalPages").doesNotExist());
+        verify(brandService, times(1)).getAllBrands(0, 10, false);
     }
 
     @Test
     void brandController_GetAllBrands_WhenBrandServiceFails_ReturnsInternalServerError() throws Exception {
-        when(brandService.getAllBrands(0, 10)).thenThrow(ServiceException.class);
+        when(brandService.getAllBrands(0, 10, true)).thenThrow(ServiceException.class);
 
         ResultActions response = mockMvc.perform(get("/brand")
                 .param("pageNo", "0")
@@ -174,7 +246,7 @@ class BrandControllerTests {
     @Test
     void brandController_GetAllBrands_WhenBrandsNotFound_ReturnsNoContent() throws Exception {
         BrandResponse responseDto = BrandResponse.builder().pageNumber(0).pageSize(10).content(List.of()).build();
-        when(brandService.getAllBrands(0, 10)).thenReturn(responseDto);
+        when(brandService.getAllBrands(0, 10, true)).thenReturn(responseDto);
 
         ResultActions response = mockMvc.perform(get("/brand")
                 .param("pageNo", "0")
@@ -182,6 +254,105 @@ class BrandControllerTests {
 
         response.andExpect(MockMvcResultMatchers.status().isNoContent());
     }
+
+    @Test
+    void brandController_GetBrandsAfterCursor_ReturnsCursorResponse() throws Exception {
+        BrandCursorResponse responseDto = BrandCursorResponse.builder().pageSize(10).content(Collections.singletonList(brandDto)).next("next-cursor").build();
+        when(brandService.getBrandsAfter("", 10)).thenReturn(responseDto);
+
+        ResultActions response = mockMvc.perform(get("/brand")
+                .param("cursor", "")
+                .param("pageSize", "10"));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(responseDto)));
+    }
+
+    @Test
+    void brandController_GetBrandsAfterCursor_WhenBrandsNotFound_ReturnsNoContent() throws Exception {
+        BrandCursorResponse responseDto = BrandCursorResponse.builder().pageSize(10).content(List.of()).build();
+        when(brandService.getBrandsAfter("abc", 10)).thenReturn(responseDto);
+
+        ResultActions response = mockMvc.perform(get("/brand")
+                .param("cursor", "abc")
+                .param("pageSize", "10"));
+
+        response.andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    @Test
+    void brandController_GetBrandsAfterCursor_GivenInvalidCursor_ReturnsBadRequest() throws Exception {
+        when(brandService.getBrandsAfter("abc", 10)).thenThrow(InvalidCursorException.class);
+
+        ResultActions response = mockMvc.perform(get("/brand")
+                .param("cursor", "abc")
+                .param("pageSize", "10"));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void brandController_GetBrandsAfterCursor_GivenInvalidPageSize_ReturnsBadRequestProblemDetail() throws Exception {
+        when(brandService.getBrandsAfter("", 0)).thenThrow(new InvalidPageSizeException("Page size must be between 1 and 1000"));
+
+        ResultActions response = mockMvc.perform(get("/brand")
+                .param("cursor", "")
+                .param("pageSize", "0"));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.detail").value("Page size must be between 1 and 1000"));
+    }
+    //endregion
+
+    //region LOOKUP
+    @Test
+    void brandController_GetBrandsByIds_ReturnsFoundAndMissing() throws Exception {
+        UUID foundId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        brandDto.setId(foundId);
+        BrandLookupResponse lookupResponse = BrandLookupResponse.builder().content(List.of(brandDto)).missing(List.of(missingId)).build();
+        when(brandService.getBrandsByIds(List.of(foundId, missingId))).thenReturn(lookupResponse);
+
+        ResultActions response = mockMvc.perform(get("/brand").param("ids", foundId + "," + missingId));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(lookupResponse)));
+    }
+
+    @Test
+    void brandController_LookupBrands_ReturnsFoundAndMissing() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        BrandLookupResponse lookupResponse = BrandLookupResponse.builder().content(List.of()).missing(List.of(missingId)).build();
+        when(brandService.getBrandsByIds(List.of(missingId))).thenReturn(lookupResponse);
+
+        ResultActions response = mockMvc.perform(post("/brand/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BrandLookupRequest.builder().ids(List.of(missingId)).build())));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.missing[0]").value(missingId.toString()));
+    }
+
+    @Test
+    void brandController_LookupBrands_GivenNoIds_ReturnsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(post("/brand/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(brandService);
+    }
+
+    @Test
+    void brandController_GetBrandsByIds_GivenTooManyIds_ReturnsBadRequestProblemDetail() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(brandService.getBrandsByIds(List.of(id))).thenThrow(new TooManyBrandIdsException("At most 500 brand ids can be looked up at once"));
+
+        ResultActions response = mockMvc.perform(get("/brand").param("ids", id.toString()));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.detail").value("At most 500 brand ids can be looked up at once"));
+    }
     //endregion
 
     //region PUT
@@ -198,6 +369,49 @@ class BrandControllerTests {
         response.andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(brandDto)));
     }
 
+    @Test
+    void brandController_UpdateBrand_GivenIfMatch_UpdatesExpectedVersionAndReturnsNewETag() throws Exception {
+        UUID id = UUID.randomUUID();
+        BrandDto updatedBrand = BrandDto.builder().id(id).name("Starbucks").version(4L).build();
+        when(brandService.updateBrand(brandDto, id, 3L)).thenReturn(updatedBrand);
+
+        ResultActions response = mockMvc.perform(put("/brand/" + id)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(brandDto)));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.header().string("ETag", "\"4\""));
+        verify(brandService, never()).updateBrand(brandDto, id);
+    }
+
+    @Test
+    void brandController_UpdateBrand_GivenStaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(brandService.updateBrand(brandDto, id, 3L)).thenThrow(new BrandVersionMismatchException("Brand has been modified since it was read"));
+
+        ResultActions response = mockMvc.perform(put("/brand/" + id)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(brandDto)));
+
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.detail").value("Brand has been modified since it was read"));
+    }
+
+    @Test
+    void brandController_UpdateBrand_GivenSeveralIfMatchTags_ReturnsBadRequestProblemDetail() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        ResultActions response = mockMvc.perform(put("/brand/" + id)
+                .header("If-Match", "\"1\", \"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(brandDto)));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.detail").value("If-Match must name a single brand ETag"));
+    }
+
     @Test
     void brandController_UpdateBrand_WhenBrandNotFound_ReturnsNotFound() throws Exception {
         UUID id = UUID.randomUUID();
@@ -222,6 +436,19 @@ class BrandControllerTests {
         response.andExpect(MockMvcResultMatchers.status().isConflict());
     }
 
+    @Test
+    void brandController_UpdateBrand_WhenBrandModifiedConcurrently_ReturnsConflictProblemDetail() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(brandService.updateBrand(brandDto, id)).thenThrow(new BrandConcurrentModificationException("Brand was modified concurrently, retry the update", null));
+
+        ResultActions response = mockMvc.perform(put("/brand/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(brandDto)));
+
+        response.andExpect(MockMvcResultMatchers.status().isConflict());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.detail").value("Brand was modified concurrently, retry the update"));
+    }
+
     @Test
     void brandController_UpdateBrand_GivenEmptyJSON_ReturnsBadRequest() throws Exception {
         UUID id = UUID.randomUUID();
@@ -260,6 +487,36 @@ class BrandControllerTests {
     }
     //endregion
 
+    //region BULK
+    @Test
+    void brandController_CreateBrands_GivenNdjson_ReturnsPerItemResults() throws Exception {
+        UUID id = UUID.randomUUID();
+        List<BulkBrandResult> results = List.of(
+                BulkBrandResult.builder().index(0).name("Starbucks").id(id).status(BulkBrandResult.Status.CREATED).build(),
+                BulkBrandResult.builder().index(1).name("Starbucks").status(BulkBrandResult.Status.DUPLICATE_IN_REQUEST).build());
+        when(brandImportService.importBrands(any())).thenReturn(results);
+
+        ResultActions response = mockMvc.perform(post("/brand/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"name\":\"Starbucks\"}\n{\"name\":\"Starbucks\"}\n"));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(id.toString()));
+        response.andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED"));
+        response.andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value("DUPLICATE_IN_REQUEST"));
+    }
+
+    @Test
+    void brandController_CreateBrands_GivenUnsupportedContentType_ReturnsUnsupportedMediaType() throws Exception {
+        ResultActions response = mockMvc.perform(post("/brand/bulk")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("Starbucks"));
+
+        response.andExpect(MockMvcResultMatchers.status().isUnsupportedMediaType());
+        verifyNoInteractions(brandImportService);
+    }
+    //endregion
+
     //region DELETE
     @Test
     void brandController_DeleteBrandById_ReturnsNoContent() throws Exception {
@@ -0,0 +1,100 @@
+package org.qrush.brand.unit.brand;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.brand.dto.BrandCursorResponse;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandResponse;
+import org.qrush.brand.brand.exceptions.InvalidIfMatchException;
+import org.qrush.brand.brand.helpers.BrandETag;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BrandETagTests {
+
+    private BrandDto starbucks;
+    private BrandDto costa;
+
+    @BeforeEach
+    public void setup() {
+        starbucks = BrandDto.builder().id(UUID.randomUUID()).name("Starbucks").version(0L).build();
+        costa = BrandDto.builder().id(UUID.randomUUID()).name("Costa").version(2L).build();
+    }
+
+    @Test
+    public void brandETag_Of_GivenBrand_ReturnsQuotedVersion() {
+        assertEquals("\"2\"", BrandETag.of(costa));
+    }
+
+    @Test
+    public void brandETag_Of_GivenBrandWithoutVersion_ReturnsNull() {
+        starbucks.setVersion(null);
+
+        assertNull(BrandETag.of(starbucks));
+        assertNull(BrandETag.of(page(List.of(starbucks, costa), 2L)));
+    }
+
+    @Test
+    public void brandETag_Of_GivenUnchangedPage_ReturnsSameTag() {
+        BrandDto costaCopy = BrandDto.builder().id(costa.getId()).name("Costa").version(2L).build();
+
+        assertEquals(BrandETag.of(page(List.of(starbucks, costa), 2L)), BrandETag.of(page(List.of(starbucks, costaCopy), 2L)));
+    }
+
+    @Test
+    public void brandETag_Of_GivenPageChange_ReturnsDifferentTag() {
+        String eTag = BrandETag.of(page(List.of(starbucks, costa), 2L));
+        BrandDto editedCosta = BrandDto.builder().id(costa.getId()).name("Costa Coffee").version(3L).build();
+
+        assertNotEquals(eTag, BrandETag.of(page(List.of(starbucks, editedCosta), 2L)));
+        assertNotEquals(eTag, BrandETag.of(page(List.of(costa, starbucks), 2L)));
+        assertNotEquals(eTag, BrandETag.of(page(List.of(starbucks), 1L)));
+        assertNotEquals(eTag, BrandETag.of(page(List.of(starbucks, costa), 3L)));
+    }
+
+    @Test
+    public void brandETag_Of_GivenCursorPage_DependsOnWhetherThereIsANextPage() {
+        BrandCursorResponse lastPage = BrandCursorResponse.builder().content(List.of(starbucks)).pageSize(1).build();
+        BrandCursorResponse morePages = BrandCursorResponse.builder().content(List.of(starbucks)).pageSize(1).next("cursor").build();
+
+        assertNotEquals(BrandETag.of(lastPage), BrandETag.of(morePages));
+    }
+
+    @Test
+    public void brandETag_ParseVersion_GivenBrandTag_ReturnsVersion() {
+        assertEquals(2L, BrandETag.parseVersion(BrandETag.of(costa)));
+        assertEquals(7L, BrandETag.parseVersion(" \"7\" "));
+    }
+
+    @Test
+    public void brandETag_ParseVersion_GivenNoHeaderOrWildcard_ReturnsNull() {
+        assertNull(BrandETag.parseVersion(null));
+        assertNull(BrandETag.parseVersion("*"));
+    }
+
+    @Test
+    public void brandETag_ParseVersion_GivenWeakOrForeignTag_ReturnsNoVersion() {
+        assertEquals(BrandETag.NO_VERSION, BrandETag.parseVersion("W/\"2\""));
+        assertEquals(BrandETag.NO_VERSION, BrandETag.parseVersion("\"pa1b2\""));
+        assertEquals(BrandETag.NO_VERSION, BrandETag.parseVersion("2"));
+    }
+
+    @Test
+    public void brandETag_ParseVersion_GivenSeveralTags_ThrowsInvalidIfMatchException() {
+        assertThrows(InvalidIfMatchException.class, () -> BrandETag.parseVersion("\"1\", \"2\""));
+    }
+
+    private static BrandResponse page(List<BrandDto> content, long totalElements) {
+        return BrandResponse.builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(10)
+                .totalElements(totalElements)
+                .totalPages(1)
+                .last(true)
+                .build();
+    }
+}
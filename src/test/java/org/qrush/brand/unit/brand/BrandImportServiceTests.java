@@ -0,0 +1,124 @@
+package org.qrush.brand.unit.brand;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.qrush.brand.brand.BrandImportService;
+import org.qrush.brand.brand.BrandRepository;
+import org.qrush.brand.brand.dto.BulkBrandResult;
+import org.qrush.brand.brand.exceptions.MalformedBrandImportException;
+import org.qrush.brand.brand.models.Brand;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BrandImportServiceTests {
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private BrandImportService brandImportService;
+
+    @BeforeEach
+    public void init() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(Mockito.any());
+    }
+
+    @Test
+    public void brandImportService_ImportBrands_GivenJsonArray_ReturnsPerItemResults() throws Exception {
+        when(brandRepository.findExistingNames(Set.of("Starbucks", "Costa"))).thenReturn(Set.of("Costa"));
+        when(brandRepository.saveAllAndFlush(Mockito.<List<Brand>>any())).thenAnswer(invocation -> {
+            List<Brand> brands = invocation.getArgument(0);
+            brands.forEach(brand -> brand.setId(UUID.randomUUID()));
+            return brands;
+        });
+
+        List<BulkBrandResult> results = brandImportService.importBrands(body(
+                "[{\"name\":\"Starbucks\"},{\"name\":\"Costa\"},{\"name\":\"Starbucks\"},{\"name\":\"\"}]"));
+
+        assertEquals(4, results.size());
+        assertEquals(BulkBrandResult.Status.CREATED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getId());
+        assertEquals(BulkBrandResult.Status.ALREADY_EXISTS, results.get(1).getStatus());
+        assertEquals(BulkBrandResult.Status.DUPLICATE_IN_REQUEST, results.get(2).getStatus());
+        assertEquals(BulkBrandResult.Status.INVALID, results.get(3).getStatus());
+        assertEquals("Brand name cannot be null or empty", results.get(3).getMessage());
+        verify(entityManager).clear();
+    }
+
+    @Test
+    public void brandImportService_ImportBrands_GivenConcurrentInsertOfSameName_ReportsAlreadyExists() throws Exception {
+        when(brandRepository.findExistingNames(Set.of("Starbucks")))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("Starbucks"));
+        when(brandRepository.saveAllAndFlush(Mockito.<List<Brand>>any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BulkBrandResult> results = brandImportService.importBrands(body("[{\"name\":\"Starbucks\"}]"));
+
+        assertEquals(1, results.size());
+        assertEquals(BulkBrandResult.Status.ALREADY_EXISTS, results.get(0).getStatus());
+        assertNull(results.get(0).getId());
+        verify(brandRepository, times(2)).findExistingNames(Set.of("Starbucks"));
+    }
+
+    @Test
+    public void brandImportService_ImportBrands_GivenNdjson_ChecksNamesInOneQuery() throws Exception {
+        when(brandRepository.findExistingNames(Mockito.any())).thenReturn(Set.of());
+
+        List<BulkBrandResult> results = brandImportService.importBrands(body("{\"name\":\"Starbucks\"}\n{\"name\":\"Costa\"}\n"));
+
+        assertEquals(2, results.size());
+        verify(brandRepository, times(1)).findExistingNames(Set.of("Starbucks", "Costa"));
+        verify(brandRepository, never()).findByName(Mockito.any());
+    }
+
+    @Test
+    public void brandImportService_ImportBrands_GivenMalformedJson_ThrowsMalformedBrandImportException() {
+        assertThrows(MalformedBrandImportException.class, () -> brandImportService.importBrands(body("{\"name\":\"Starbucks\"}\n{\"name\":")));
+
+        verifyNoInteractions(brandRepository);
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
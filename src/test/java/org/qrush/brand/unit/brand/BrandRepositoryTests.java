@@ -3,16 +3,20 @@ package org.qrush.brand.unit.brand;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.qrush.brand.brand.BrandRepository;
+import org.qrush.brand.brand.dto.BrandDto;
 import org.qrush.brand.brand.models.Brand;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -147,4 +151,53 @@ public class BrandRepositoryTests {
 
         assertFalse(foundBrand.isPresent());
     }
+
+    @Test
+    public void brandRepository_FindByIdGreaterThan_ReturnsBrandsAfterIdInIdOrder() {
+        brandRepository.save(Brand.builder().name("Starbucks").build());
+        brandRepository.save(Brand.builder().name("Costa").build());
+        brandRepository.save(Brand.builder().name("Nero").build());
+
+        List<Brand> firstPage = brandRepository.findAllByOrderByIdAsc(Limit.of(2));
+        List<Brand> secondPage = brandRepository.findByIdGreaterThanOrderByIdAsc(firstPage.getLast().getId(), Limit.of(2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertFalse(firstPage.contains(secondPage.getFirst()));
+    }
+
+    @Test
+    public void brandRepository_FindExistingNames_ReturnsOnlyNamesThatExist() {
+        brandRepository.save(Brand.builder().name("Starbucks").build());
+        brandRepository.save(Brand.builder().name("Costa").build());
+
+        Set<String> existingNames = brandRepository.findExistingNames(List.of("Starbucks", "Nero", "Costa"));
+
+        assertEquals(Set.of("Starbucks", "Costa"), existingNames);
+    }
+
+    @Test
+    public void brandRepository_FindDtosByIdIn_ReturnsOnlyBrandsThatExist() {
+        Brand starbucks = brandRepository.save(Brand.builder().name("Starbucks").build());
+        Brand costa = brandRepository.save(Brand.builder().name("Costa").build());
+        brandRepository.save(Brand.builder().name("Nero").build());
+
+        List<BrandDto> brands = brandRepository.findDtosByIdIn(List.of(starbucks.getId(), costa.getId(), UUID.randomUUID()));
+
+        assertEquals(2, brands.size());
+        assertTrue(brands.contains(BrandDto.builder().id(costa.getId()).name("Costa").build()));
+    }
+
+    @Test
+    public void brandRepository_StreamAll_ReturnsEveryBrandAsDto() {
+        Brand starbucks = brandRepository.save(Brand.builder().name("Starbucks").build());
+        brandRepository.save(Brand.builder().name("Costa").build());
+
+        try (Stream<BrandDto> brands = brandRepository.streamAll()) {
+            List<BrandDto> exported = brands.toList();
+
+            assertEquals(2, exported.size());
+            assertTrue(exported.contains(BrandDto.builder().id(starbucks.getId()).name("Starbucks").build()));
+        }
+    }
 }
@@ -5,19 +5,45 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.qrush.brand.brand.BrandRepository;
 import org.qrush.brand.brand.BrandService;
+import org.qrush.brand.brand.cache.BrandCache;
+import org.qrush.brand.brand.dto.BrandCursorResponse;
 import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.brand.dto.BrandLookupResponse;
 import org.qrush.brand.brand.dto.BrandResponse;
 import org.qrush.brand.brand.exceptions.BrandAlreadyExists;
+import org.qrush.brand.brand.exceptions.BrandConcurrentModificationException;
 import org.qrush.brand.brand.exceptions.BrandNotFoundException;
+import org.qrush.brand.brand.exceptions.BrandVersionMismatchException;
+import org.qrush.brand.brand.exceptions.InvalidCursorException;
+import org.qrush.brand.brand.exceptions.InvalidPageSizeException;
+import org.qrush.brand.brand.exceptions.TooManyBrandIdsException;
+import org.qrush.brand.brand.filter.BrandIdFilter;
+import org.qrush.brand.brand.helpers.BrandCursor;
 import org.qrush.brand.brand.models.Brand;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.doNothing;
@@ -29,6 +55,12 @@ class BrandServiceTests {
     @Mock
     private BrandRepository brandRepository;
 
+    @Spy
+    private BrandCache brandCache = new BrandCache(100, Duration.ofMinutes(10));
+
+    @Spy
+    private BrandIdFilter brandIdFilter = new BrandIdFilter(true, 1000, 0.01);
+
     @InjectMocks
     private BrandService brandService;
 
@@ -43,13 +75,15 @@ class BrandServiceTests {
                 .name(brand.getName())
                 .build();
 
-        when(brandRepository.save(Mockito.any(Brand.class))).thenReturn(brand);
+        when(brandRepository.insertIfAbsent(Mockito.any(UUID.class), Mockito.eq("Starbucks"))).thenReturn(1);
 
         BrandDto savedBrandDto = brandService.createBrand(brandDto);
 
         assertNotNull(savedBrandDto);
+        assertNotNull(savedBrandDto.getId());
         //ToDo: swap expected and equals
         assertEquals(savedBrandDto.getName(), brand.getName());
+        Mockito.verify(brandRepository, Mockito.never()).findByName(Mockito.any());
     }
 
     @Test
@@ -62,10 +96,20 @@ class BrandServiceTests {
                 .name(brand.getName())
                 .build();
 
-        when(brandRepository.findByName(Mockito.any(String.class))).thenReturn(Optional.of(brand));
+        when(brandRepository.insertIfAbsent(Mockito.any(UUID.class), Mockito.any(String.class))).thenReturn(0);
 
         assertThrows(BrandAlreadyExists.class, () -> brandService.createBrand(brandDto));
     }
+
+    @Test
+    public void brandService_CreateBrand_AddsIdToBrandIdFilter() {
+        brandIdFilter.markLoaded();
+        when(brandRepository.insertIfAbsent(Mockito.any(UUID.class), Mockito.eq("Starbucks"))).thenReturn(1);
+
+        BrandDto savedBrandDto = brandService.createBrand(BrandDto.builder().name("Starbucks").build());
+
+        assertTrue(brandIdFilter.mightExist(savedBrandDto.getId()));
+    }
     //endregion
 
     //region GET
@@ -95,6 +139,142 @@ class BrandServiceTests {
 
         assertThrows(BrandNotFoundException.class, () -> brandService.getBrandById(id));
     }
+
+    @Test
+    void brandService_FindById_GivenRepeatedLookups_ServesFromCache() {
+        UUID id = UUID.randomUUID();
+
+        Brand brand = Brand.builder()
+                .id(id)
+                .name("Starbucks")
+                .build();
+
+        when(brandRepository.findById(id)).thenReturn(Optional.of(brand));
+
+        brandService.getBrandById(id);
+        BrandDto brandReturn = brandService.getBrandById(id);
+
+        assertEquals(brand.getName(), brandReturn.getName());
+        Mockito.verify(brandRepository, Mockito.times(1)).findById(id);
+        assertEquals(1, brandCache.byIdStats().hitCount());
+    }
+
+    @Test
+    void brandService_FindById_GivenIdRejectedByBrandIdFilter_ThrowsBrandNotFoundExceptionWithoutQuery() {
+        brandIdFilter.markLoaded();
+
+        assertThrows(BrandNotFoundException.class, () -> brandService.getBrandById(UUID.randomUUID()));
+        Mockito.verifyNoInteractions(brandRepository);
+        assertEquals(1, brandIdFilter.rejectedCount());
+    }
+
+    @Test
+    void brandService_FindById_GivenBrandIdFilterFalsePositive_RecordsIt() {
+        UUID id = UUID.randomUUID();
+        brandIdFilter.add(id);
+        brandIdFilter.markLoaded();
+
+        when(brandRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(BrandNotFoundException.class, () -> brandService.getBrandById(id));
+        assertEquals(1, brandIdFilter.falsePositiveCount());
+    }
+
+    @Test
+    void brandService_GetBrandReference_GivenIdRejectedByBrandIdFilter_ThrowsBrandNotFoundException() {
+        brandIdFilter.markLoaded();
+
+        assertThrows(BrandNotFoundException.class, () -> brandService.getBrandReference(UUID.randomUUID()));
+        Mockito.verifyNoInteractions(brandRepository);
+    }
+
+    @Test
+    void brandService_FindById_GivenConcurrentLookups_QueriesOnce() throws Exception {
+        int callers = 16;
+        UUID id = UUID.randomUUID();
+        Brand brand = Brand.builder()
+                .id(id)
+                .name("Starbucks")
+                .build();
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(brandRepository.findById(id)).thenAnswer(invocation -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.of(brand);
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            List<Future<BrandDto>> results = Stream.generate(() -> executor.submit(() -> brandService.getBrandById(id)))
+                    .limit(callers)
+                    .toList();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (brandCache.byIdCoalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<BrandDto> result : results) {
+                assertEquals(brand.getName(), result.get(5, TimeUnit.SECONDS).getName());
+            }
+        }
+
+        Mockito.verify(brandRepository, Mockito.times(1)).findById(id);
+        assertEquals(callers - 1, brandCache.byIdCoalescedCount());
+    }
+
+    @Test
+    void brandService_GetBrandsByIds_ReturnsFoundAndMissingInRequestOrder() {
+        UUID starbucksId = UUID.randomUUID();
+        UUID costaId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        BrandDto starbucks = BrandDto.builder().id(starbucksId).name("Starbucks").build();
+        BrandDto costa = BrandDto.builder().id(costaId).name("Costa").build();
+
+        when(brandRepository.findDtosByIdIn(Mockito.anyCollection())).thenReturn(List.of(costa, starbucks));
+
+        BrandLookupResponse brandLookupResponse = brandService.getBrandsByIds(List.of(starbucksId, missingId, costaId, starbucksId));
+
+        assertEquals(List.of(starbucks, costa), brandLookupResponse.getContent());
+        assertEquals(List.of(missingId), brandLookupResponse.getMissing());
+        Mockito.verify(brandRepository, Mockito.times(1)).findDtosByIdIn(Mockito.anyCollection());
+    }
+
+    @Test
+    void brandService_GetBrandsByIds_GivenCachedBrands_OnlyQueriesTheRest() {
+        UUID cachedId = UUID.randomUUID();
+        UUID uncachedId = UUID.randomUUID();
+        Brand cachedBrand = Brand.builder().id(cachedId).name("Starbucks").build();
+        BrandDto uncached = BrandDto.builder().id(uncachedId).name("Costa").build();
+
+        when(brandRepository.findById(cachedId)).thenReturn(Optional.of(cachedBrand));
+        when(brandRepository.findDtosByIdIn(Mockito.anyCollection())).thenReturn(List.of(uncached));
+        brandService.getBrandById(cachedId);
+
+        BrandLookupResponse brandLookupResponse = brandService.getBrandsByIds(List.of(cachedId, uncachedId));
+
+        assertEquals(2, brandLookupResponse.getContent().size());
+        Mockito.verify(brandRepository).findDtosByIdIn(Set.of(uncachedId));
+    }
+
+    @Test
+    void brandService_GetBrandsByIds_GivenIdsRejectedByBrandIdFilter_ReportsThemMissingWithoutQuery() {
+        UUID unknownId = UUID.randomUUID();
+        brandIdFilter.markLoaded();
+
+        BrandLookupResponse brandLookupResponse = brandService.getBrandsByIds(List.of(unknownId));
+
+        assertTrue(brandLookupResponse.getContent().isEmpty());
+        assertEquals(List.of(unknownId), brandLookupResponse.getMissing());
+        Mockito.verifyNoInteractions(brandRepository);
+    }
+
+    @Test
+    void brandService_GetBrandsByIds_GivenTooManyIds_ThrowsTooManyBrandIdsException() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(BrandService.MAX_LOOKUP_IDS + 1).toList();
+
+        assertThrows(TooManyBrandIdsException.class, () -> brandService.getBrandsByIds(ids));
+        Mockito.verifyNoInteractions(brandRepository);
+    }
     //endregion
 
     // region GET all brands
@@ -109,6 +289,68 @@ class BrandServiceTests {
 
         assertNotNull(brandResponse);
     }
+
+    @Test
+    public void brandService_FindAll_GivenWithTotalsFalse_ReturnsBrandResponseWithoutTotals() {
+        Brand brand = Brand.builder().id(UUID.randomUUID()).name("Starbucks").build();
+        Slice<Brand> brands = new SliceImpl<>(List.of(brand), PageRequest.of(0, 10), false);
+
+        when(brandRepository.findAllBy(Mockito.any(Pageable.class))).thenReturn(brands);
+
+        BrandResponse brandResponse = brandService.getAllBrands(0, 10, false);
+
+        assertEquals(1, brandResponse.getContent().size());
+        assertTrue(brandResponse.isLast());
+        assertNull(brandResponse.getTotalElements());
+        assertNull(brandResponse.getTotalPages());
+        Mockito.verify(brandRepository, Mockito.never()).findAll(Mockito.any(Pageable.class));
+    }
+    //endregion
+
+    // region GET brands after cursor
+    @Test
+    public void brandService_GetBrandsAfter_GivenBlankCursor_ReturnsFirstPageWithNextCursor() {
+        Brand brand1 = Brand.builder().id(UUID.randomUUID()).name("Starbucks").build();
+        Brand brand2 = Brand.builder().id(UUID.randomUUID()).name("Costa").build();
+
+        when(brandRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(brand1, brand2));
+
+        BrandCursorResponse brandCursorResponse = brandService.getBrandsAfter("", 1);
+
+        assertEquals(1, brandCursorResponse.getContent().size());
+        assertEquals(brand1.getId(), brandCursorResponse.getContent().getFirst().getId());
+        assertEquals(BrandCursor.encode(brand1.getId()), brandCursorResponse.getNext());
+    }
+
+    @Test
+    public void brandService_GetBrandsAfter_GivenCursor_SeeksPastCursorId() {
+        UUID lastSeenId = UUID.randomUUID();
+        Brand brand = Brand.builder().id(UUID.randomUUID()).name("Starbucks").build();
+
+        when(brandRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, Limit.of(11))).thenReturn(List.of(brand));
+
+        BrandCursorResponse brandCursorResponse = brandService.getBrandsAfter(BrandCursor.encode(lastSeenId), 10);
+
+        assertEquals(1, brandCursorResponse.getContent().size());
+        assertNull(brandCursorResponse.getNext());
+    }
+
+    @Test
+    public void brandService_GetBrandsAfter_GivenMalformedCursor_ThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> brandService.getBrandsAfter("not-a-cursor!", 10));
+    }
+
+    @Test
+    public void brandService_GetBrandsAfter_GivenPageSizeBelowOne_ThrowsInvalidPageSizeException() {
+        assertThrows(InvalidPageSizeException.class, () -> brandService.getBrandsAfter("", 0));
+        Mockito.verifyNoInteractions(brandRepository);
+    }
+
+    @Test
+    public void brandService_GetBrandsAfter_GivenPageSizeAboveMax_ThrowsInvalidPageSizeException() {
+        assertThrows(InvalidPageSizeException.class, () -> brandService.getBrandsAfter("", BrandService.MAX_CURSOR_PAGE_SIZE + 1));
+        Mockito.verifyNoInteractions(brandRepository);
+    }
     //endregion
 
     //region PUT
@@ -134,6 +376,26 @@ class BrandServiceTests {
         assertEquals(savedBrandDto.getName(), brand.getName());
     }
 
+    @Test
+    public void brandService_UpdateBrand_EvictsCachedBrand() {
+        UUID id = UUID.randomUUID();
+        Brand brand = Brand.builder()
+                .name("Starbucks")
+                .id(id)
+                .build();
+
+        when(brandRepository.findById(id)).thenReturn(Optional.of(brand));
+        when(brandRepository.findByName(Mockito.any(String.class))).thenReturn(Optional.empty());
+        when(brandRepository.save(Mockito.any(Brand.class))).thenReturn(brand);
+
+        brandService.getBrandById(id);
+        brandService.updateBrand(BrandDto.builder().name("Costa").build(), id);
+        BrandDto brandReturn = brandService.getBrandById(id);
+
+        assertEquals("Costa", brandReturn.getName());
+        Mockito.verify(brandCache).evict(id, "Starbucks");
+    }
+
     @Test
     public void brandService_UpdateBrand_GivenBrandDoesNotExist_ThrowsBrandNotFoundException() {
         BrandDto brandDto = BrandDto.builder()
@@ -162,6 +424,67 @@ class BrandServiceTests {
 
         assertThrows(BrandAlreadyExists.class, () -> brandService.updateBrand(brandDto, brandDto.getId()));
     }
+
+    @Test
+    public void brandService_UpdateBrand_WhenSaveLosesOptimisticLock_ThrowsBrandConcurrentModificationException() {
+        UUID id = UUID.randomUUID();
+        Brand brand = Brand.builder()
+                .name("Starbucks")
+                .id(id)
+                .build();
+
+        when(brandRepository.findById(id)).thenReturn(Optional.of(brand));
+        when(brandRepository.findByName(Mockito.any(String.class))).thenReturn(Optional.empty());
+        when(brandRepository.save(Mockito.any(Brand.class))).thenThrow(new ObjectOptimisticLockingFailureException(Brand.class, id));
+
+        assertThrows(BrandConcurrentModificationException.class, () -> brandService.updateBrand(BrandDto.builder().name("Costa").build(), id));
+        Mockito.verify(brandCache, Mockito.never()).evict(Mockito.eq(id), Mockito.any());
+    }
+
+    @Test
+    public void brandService_UpdateBrand_GivenExpectedVersion_UpdatesWithoutReadingAndReturnsNextVersion() {
+        UUID id = UUID.randomUUID();
+
+        when(brandRepository.updateNameIfVersion(id, "Costa", 3L)).thenReturn(1);
+
+        BrandDto updatedBrand = brandService.updateBrand(BrandDto.builder().name("Costa").build(), id, 3L);
+
+        assertEquals(id, updatedBrand.getId());
+        assertEquals("Costa", updatedBrand.getName());
+        assertEquals(4L, updatedBrand.getVersion());
+        Mockito.verify(brandRepository, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(brandRepository, Mockito.never()).findByName(Mockito.any());
+        Mockito.verify(brandCache).evict(id);
+    }
+
+    @Test
+    public void brandService_UpdateBrand_GivenStaleExpectedVersion_ThrowsBrandVersionMismatchException() {
+        UUID id = UUID.randomUUID();
+
+        when(brandRepository.updateNameIfVersion(id, "Costa", 3L)).thenReturn(0);
+        when(brandRepository.existsById(id)).thenReturn(true);
+
+        assertThrows(BrandVersionMismatchException.class, () -> brandService.updateBrand(BrandDto.builder().name("Costa").build(), id, 3L));
+    }
+
+    @Test
+    public void brandService_UpdateBrand_GivenExpectedVersionAndBrandDoesNotExist_ThrowsBrandNotFoundException() {
+        UUID id = UUID.randomUUID();
+
+        when(brandRepository.updateNameIfVersion(id, "Costa", 3L)).thenReturn(0);
+        when(brandRepository.existsById(id)).thenReturn(false);
+
+        assertThrows(BrandNotFoundException.class, () -> brandService.updateBrand(BrandDto.builder().name("Costa").build(), id, 3L));
+    }
+
+    @Test
+    public void brandService_UpdateBrand_GivenExpectedVersionAndNameTaken_ThrowsBrandAlreadyExistsException() {
+        UUID id = UUID.randomUUID();
+
+        when(brandRepository.updateNameIfVersion(id, "Costa", 3L)).thenThrow(new DataIntegrityViolationException("unique"));
+
+        assertThrows(BrandAlreadyExists.class, () -> brandService.updateBrand(BrandDto.builder().name("Costa").build(), id, 3L));
+    }
     //endregion
 
     //region DELETE
@@ -179,6 +502,7 @@ class BrandServiceTests {
         doNothing().when(brandRepository).delete(brand);
 
         assertAll(() -> brandService.deleteBrand(id));
+        Mockito.verify(brandCache).evict(id, brand.getName());
     }
 
     @Test
@@ -0,0 +1,93 @@
+package org.qrush.brand.unit.brand;
+
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.brand.filter.CountingBloomFilter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountingBloomFilterTests {
+
+    @Test
+    public void countingBloomFilter_MightContain_GivenAddedIds_ReturnsTrue() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(10_000).toList();
+
+        ids.forEach(filter::add);
+
+        assertTrue(ids.stream().allMatch(filter::mightContain));
+        assertEquals(10_000, filter.entries());
+    }
+
+    @Test
+    public void countingBloomFilter_MightContain_GivenUnknownIds_StaysNearConfiguredFalsePositiveRate() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        Stream.generate(UUID::randomUUID).limit(10_000).forEach(filter::add);
+
+        long falsePositives = Stream.generate(UUID::randomUUID).limit(100_000).filter(filter::mightContain).count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.002);
+    }
+
+    @Test
+    public void countingBloomFilter_Remove_GivenAddedId_NoLongerContainsIt() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        UUID removed = UUID.randomUUID();
+        List<UUID> kept = Stream.generate(UUID::randomUUID).limit(500).toList();
+        kept.forEach(filter::add);
+        filter.add(removed);
+
+        filter.remove(removed);
+
+        assertFalse(filter.mightContain(removed));
+        assertTrue(kept.stream().allMatch(filter::mightContain));
+        assertEquals(500, filter.entries());
+    }
+
+    @Test
+    public void countingBloomFilter_Remove_GivenIdAddedTwice_StillContainsItAfterOneRemoval() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        UUID id = UUID.randomUUID();
+        filter.add(id);
+        filter.add(id);
+
+        filter.remove(id);
+
+        assertTrue(filter.mightContain(id));
+    }
+
+    @Test
+    public void countingBloomFilter_Add_GivenSaturatedCounters_NeverForgetsOtherIds() {
+        CountingBloomFilter filter = new CountingBloomFilter(1, 0.5);
+        UUID repeated = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        filter.add(other);
+        for (int i = 0; i < 20; i++) {
+            filter.add(repeated);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            filter.remove(repeated);
+        }
+
+        assertTrue(filter.mightContain(other));
+    }
+
+    @Test
+    public void countingBloomFilter_MemoryBytes_GivenExpectedEntries_UsesFourBitsPerCounter() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000_000, 0.01);
+
+        // About 9.6 counters per entry at 1%
+        assertEquals(4_800_000, filter.memoryBytes(), 10_000);
+    }
+
+    @Test
+    public void countingBloomFilter_Constructor_GivenInvalidFalsePositiveRate_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(1_000, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+    }
+}
@@ -0,0 +1,71 @@
+package org.qrush.brand.unit.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.brand.dto.BrandDto;
+import org.qrush.brand.export.NdjsonExporter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class NdjsonExporterTests {
+
+    private final NdjsonExporter ndjsonExporter = new NdjsonExporter(mock(PlatformTransactionManager.class), new ObjectMapper());
+
+    @Test
+    public void ndjsonExporter_Export_WritesOneLinePerRowAndClosesStream() {
+        UUID id = UUID.randomUUID();
+        boolean[] closed = {false};
+        Stream<BrandDto> brands = Stream.of(
+                        BrandDto.builder().id(id).name("Starbucks").build(),
+                        BrandDto.builder().id(id).name("Costa").build())
+                .onClose(() -> closed[0] = true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = ndjsonExporter.export(() -> brands, BrandDto.class, out);
+
+        assertEquals(2, written);
+        assertEquals(String.format("{\"id\":\"%1$s\",\"name\":\"Starbucks\"}\n{\"id\":\"%1$s\",\"name\":\"Costa\"}\n", id),
+                out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    public void ndjsonExporter_OpenResponse_GivenAcceptEncodingGzip_CompressesBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try (OutputStream out = NdjsonExporter.openResponse(response, "br, gzip")) {
+            out.write("{}\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals("{}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void ndjsonExporter_OpenResponse_WithoutAcceptEncoding_WritesPlainBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try (OutputStream out = NdjsonExporter.openResponse(response, null)) {
+            out.write("{}\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{}\n", response.getContentAsString());
+    }
+}
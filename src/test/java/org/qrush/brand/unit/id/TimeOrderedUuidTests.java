@@ -0,0 +1,93 @@
+package org.qrush.brand.unit.id;
+
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.id.TimeOrderedUuid;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTests {
+
+    private static final long NOW = 1_729_000_000_000L;
+
+    @Test
+    public void timeOrderedUuid_Generate_ReturnsVersion7WithClockTimestamp() {
+        UUID uuid = new TimeOrderedUuid(() -> NOW).generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW, TimeOrderedUuid.timestamp(uuid));
+    }
+
+    @Test
+    public void timeOrderedUuid_Generate_WithinSameMillisecond_IsStrictlyIncreasing() {
+        TimeOrderedUuid generator = new TimeOrderedUuid(() -> NOW);
+
+        UUID previous = generator.generate();
+        // More ids than the 12-bit counter holds, so the counter overflows into the timestamp
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = generator.generate();
+            assertTrue(compare(previous, current) < 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    public void timeOrderedUuid_Generate_WhenClockStepsBackwards_StaysIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedUuid generator = new TimeOrderedUuid(clock::get);
+
+        UUID beforeStep = generator.generate();
+        clock.set(NOW - 5_000);
+        UUID afterStep = generator.generate();
+
+        assertTrue(compare(beforeStep, afterStep) < 0);
+        assertEquals(NOW, TimeOrderedUuid.timestamp(afterStep));
+    }
+
+    @Test
+    public void timeOrderedUuid_Next_AcrossThreads_IsUniqueAndIncreasingPerThread() throws Exception {
+        int threads = 8;
+        int idsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(idsPerThread);
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(TimeOrderedUuid.next());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<UUID> unique = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                List<UUID> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(compare(ids.get(i - 1), ids.get(i)) < 0);
+                }
+                unique.addAll(ids);
+            }
+            assertEquals(threads * idsPerThread, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Byte-wise order, as PostgreSQL compares uuid values (UUID.compareTo compares signed longs)
+    private static int compare(UUID first, UUID second) {
+        int result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+}
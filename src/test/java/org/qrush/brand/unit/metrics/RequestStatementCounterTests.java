@@ -0,0 +1,86 @@
+package org.qrush.brand.unit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.metrics.RequestStatementCounter;
+import org.qrush.brand.metrics.RequestStatementMetricsFilter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class RequestStatementCounterTests {
+
+    private final RequestStatementCounter statementCounter = new RequestStatementCounter();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestStatementMetricsFilter filter;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestStatementMetricsFilter(meterRegistry);
+        request = new MockHttpServletRequest("GET", "/brand/0191c3a4-7d2e-7000-8000-000000000000");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void requestStatementCounter_Inspect_RecordsStatementsPerRequestByRouteTemplate() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            statementCounter.inspect("select 1");
+            statementCounter.inspect("select 2");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/brand/{id}");
+        });
+
+        DistributionSummary summary = meterRegistry.find("hibernate.statements.per.request")
+                .tag("uri", "/brand/{id}")
+                .tag("method", "GET")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+    }
+
+    @Test
+    public void requestStatementCounter_Inspect_GivenRepeatedRoute_RecordsIntoOneSummary() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                statementCounter.inspect("select 1");
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/brand/{id}");
+            });
+        }
+
+        assertEquals(1, meterRegistry.find("hibernate.statements.per.request").summaries().size());
+        DistributionSummary summary = meterRegistry.find("hibernate.statements.per.request").tag("uri", "/brand/{id}").summary();
+        assertEquals(3, summary.count());
+        assertEquals(3, summary.totalAmount());
+    }
+
+    @Test
+    public void requestStatementCounter_Inspect_GivenNoMatchedRoute_TagsUnknown() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> statementCounter.inspect("select 1"));
+
+        DistributionSummary summary = meterRegistry.find("hibernate.statements.per.request").tag("uri", "UNKNOWN").summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.totalAmount());
+    }
+
+    @Test
+    public void requestStatementCounter_Inspect_OutsideRequest_ReturnsSqlUnchanged() {
+        RequestContextHolder.resetRequestAttributes();
+
+        assertEquals("select 1", statementCounter.inspect("select 1"));
+    }
+}
@@ -0,0 +1,67 @@
+package org.qrush.brand.unit.restaurant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.restaurant.spatial.CoordinateColumns;
+import org.qrush.brand.restaurant.spatial.DistanceKernel;
+import org.qrush.brand.restaurant.spatial.GeoDistance;
+import org.qrush.brand.restaurant.spatial.ScalarDistanceKernel;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceKernelTests {
+
+    private static final int CANDIDATES = 1_001;
+
+    private CoordinateColumns columns;
+    private double[][] locations;
+    private int[] slots;
+
+    @BeforeEach
+    public void setup() {
+        Random random = new Random(3);
+        columns = new CoordinateColumns(8);
+        locations = new double[CANDIDATES][];
+        slots = new int[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            locations[i] = new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180};
+            columns.add(locations[i][0], locations[i][1]);
+            slots[i] = CANDIDATES - 1 - i;
+        }
+    }
+
+    @Test
+    public void distanceKernel_Best_IsVectorizedWhenModulePresent() {
+        boolean vectorModulePresent = ModuleLayer.boot().findModule(DistanceKernel.VECTOR_MODULE).isPresent();
+
+        assertEquals(vectorModulePresent, !(DistanceKernel.best() instanceof ScalarDistanceKernel));
+    }
+
+    @Test
+    public void distanceKernel_Scalar_MatchesHaversine() {
+        assertMatchesHaversine(new ScalarDistanceKernel());
+    }
+
+    @Test
+    public void distanceKernel_Best_MatchesHaversine() {
+        assertMatchesHaversine(DistanceKernel.best());
+    }
+
+    private void assertMatchesHaversine(DistanceKernel distanceKernel) {
+        double latitude = 51.5;
+        double longitude = -0.12;
+        double[] gathered = new double[CANDIDATES];
+        double[] contiguous = new double[CANDIDATES];
+
+        distanceKernel.distances(columns, Math.toRadians(latitude), Math.toRadians(longitude), slots, CANDIDATES, gathered);
+        distanceKernel.distances(columns, Math.toRadians(latitude), Math.toRadians(longitude), 0, CANDIDATES, contiguous);
+
+        for (int i = 0; i < CANDIDATES; i++) {
+            double expected = GeoDistance.haversineMeters(latitude, longitude, locations[i][0], locations[i][1]);
+            assertEquals(expected, contiguous[i], 1e-2);
+            assertEquals(expected, gathered[CANDIDATES - 1 - i], 1e-2);
+        }
+    }
+}
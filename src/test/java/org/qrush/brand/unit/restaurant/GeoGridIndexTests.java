@@ -0,0 +1,102 @@
+package org.qrush.brand.unit.restaurant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.restaurant.spatial.GeoDistance;
+import org.qrush.brand.restaurant.spatial.GeoGridIndex;
+import org.qrush.brand.restaurant.spatial.IndexedRestaurant;
+import org.qrush.brand.restaurant.spatial.Neighbour;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoGridIndexTests {
+
+    private GeoGridIndex geoGridIndex;
+    private List<IndexedRestaurant> restaurants;
+
+    @BeforeEach
+    public void setup() {
+        geoGridIndex = new GeoGridIndex(0.05);
+        restaurants = new ArrayList<>();
+
+        // Two dense clusters (London and Fiji, straddling the antimeridian) plus scattered outliers
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            double latitude;
+            double longitude;
+            if (i % 3 == 0) {
+                latitude = 51.5 + random.nextGaussian() * 0.1;
+                longitude = -0.12 + random.nextGaussian() * 0.1;
+            } else if (i % 3 == 1) {
+                latitude = -17.7 + random.nextGaussian() * 0.1;
+                longitude = wrapLongitude(180.0 + random.nextGaussian() * 0.1);
+            } else {
+                latitude = random.nextDouble() * 180 - 90;
+                longitude = random.nextDouble() * 360 - 180;
+            }
+            IndexedRestaurant restaurant = new IndexedRestaurant(UUID.randomUUID(), UUID.randomUUID(), "Restaurant " + i, "Address " + i, latitude, longitude);
+            restaurants.add(restaurant);
+            geoGridIndex.add(restaurant);
+        }
+    }
+
+    @Test
+    public void geoGridIndex_Nearest_MatchesBruteForce() {
+        double[][] queries = {{51.5, -0.12}, {-17.7, 179.99}, {-17.7, -179.99}, {0.0, 0.0}, {89.9, 45.0}, {-89.9, -45.0}};
+
+        for (double[] query : queries) {
+            List<Neighbour> nearest = geoGridIndex.nearest(query[0], query[1], 10);
+
+            assertEquals(bruteForce(query[0], query[1], Double.POSITIVE_INFINITY, 10), ids(nearest));
+        }
+    }
+
+    @Test
+    public void geoGridIndex_WithinRadius_MatchesBruteForce() {
+        double[][] queries = {{51.5, -0.12, 5_000}, {-17.7, 180.0, 20_000}, {10.0, 10.0, 2_000_000}, {89.0, 0.0, 500_000}};
+
+        for (double[] query : queries) {
+            List<Neighbour> withinRadius = geoGridIndex.withinRadius(query[0], query[1], query[2], 50);
+
+            assertEquals(bruteForce(query[0], query[1], query[2], 50), ids(withinRadius));
+        }
+    }
+
+    @Test
+    public void geoGridIndex_WithinRadius_ReturnsClosestFirst() {
+        List<Neighbour> withinRadius = geoGridIndex.withinRadius(51.5, -0.12, 10_000, 20);
+
+        assertFalse(withinRadius.isEmpty());
+        for (int i = 1; i < withinRadius.size(); i++) {
+            assertTrue(withinRadius.get(i - 1).distanceMeters() <= withinRadius.get(i).distanceMeters());
+        }
+    }
+
+    @Test
+    public void geoGridIndex_Nearest_GivenEmptyIndex_ReturnsEmptyList() {
+        assertTrue(new GeoGridIndex(0.05).nearest(51.5, -0.12, 5).isEmpty());
+    }
+
+    private List<UUID> bruteForce(double latitude, double longitude, double radiusMeters, int limit) {
+        return restaurants.stream()
+                .filter(r -> GeoDistance.haversineMeters(latitude, longitude, r.latitude(), r.longitude()) <= radiusMeters)
+                .sorted(Comparator.comparingDouble(r -> GeoDistance.haversineMeters(latitude, longitude, r.latitude(), r.longitude())))
+                .limit(limit)
+                .map(IndexedRestaurant::id)
+                .toList();
+    }
+
+    private static List<UUID> ids(List<Neighbour> neighbours) {
+        return neighbours.stream().map(n -> n.restaurant().id()).toList();
+    }
+
+    private static double wrapLongitude(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude;
+    }
+}
@@ -7,10 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.qrush.brand.brand.exceptions.BrandNotFoundException;
 import org.qrush.brand.brand.models.Brand;
 import org.qrush.brand.restaurant.RestaurantController;
 import org.qrush.brand.restaurant.RestaurantService;
+import org.qrush.brand.restaurant.dto.NearbyRestaurantDto;
 import org.qrush.brand.restaurant.dto.RestaurantDto;
+import org.qrush.brand.restaurant.dto.RestaurantImportResult;
+import org.qrush.brand.restaurant.importer.RestaurantImportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -20,10 +24,15 @@ import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 @WebMvcTest(controllers = RestaurantController.class)
@@ -35,6 +44,9 @@ public class RestaurantControllerTests {
     @MockBean
     private RestaurantService restaurantService;
 
+    @MockBean
+    private RestaurantImportService restaurantImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
     private Brand brand;
@@ -168,4 +180,124 @@ public class RestaurantControllerTests {
         response.andExpect(MockMvcResultMatchers.status().isInternalServerError());
     }
     // endregion
+
+    //region NEARBY
+    @Test
+    void restaurantController_GetNearbyRestaurants_ReturnsNearbyRestaurants() throws Exception {
+        NearbyRestaurantDto nearbyRestaurantDto = NearbyRestaurantDto.builder()
+                .id(UUID.randomUUID())
+                .name("Starbucks Ipswich")
+                .address("123 Main Street")
+                .latitude(52.05)
+                .longitude(1.15)
+                .brandId(brand.getId())
+                .distanceMeters(120.5)
+                .build();
+        when(restaurantService.findNearby(52.0, 1.1, null, 20)).thenReturn(List.of(nearbyRestaurantDto));
+
+        ResultActions response = mockMvc.perform(get("/restaurant/nearby")
+                .param("lat", "52.0")
+                .param("lon", "1.1"));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(List.of(nearbyRestaurantDto))));
+    }
+
+    @Test
+    void restaurantController_GetNearbyRestaurants_WhenNoneFound_ReturnsNoContent() throws Exception {
+        when(restaurantService.findNearby(52.0, 1.1, 500.0, 5)).thenReturn(List.of());
+
+        ResultActions response = mockMvc.perform(get("/restaurant/nearby")
+                .param("lat", "52.0")
+                .param("lon", "1.1")
+                .param("radius", "500")
+                .param("limit", "5"));
+
+        response.andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    @Test
+    void restaurantController_GetNearbyRestaurants_GivenLatitudeOutsideRange_ReturnsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(get("/restaurant/nearby")
+                .param("lat", "91.0")
+                .param("lon", "1.1"));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void restaurantController_GetNearestRestaurantsOfBrand_ReturnsNearestRestaurants() throws Exception {
+        NearbyRestaurantDto nearbyRestaurantDto = NearbyRestaurantDto.builder()
+                .id(UUID.randomUUID())
+                .name("Starbucks Ipswich")
+                .address("123 Main Street")
+                .latitude(52.05)
+                .longitude(1.15)
+                .brandId(brand.getId())
+                .distanceMeters(120.5)
+                .build();
+        when(restaurantService.findNearestOfBrand(brand.getId(), 52.0, 1.1, 1)).thenReturn(List.of(nearbyRestaurantDto));
+
+        ResultActions response = mockMvc.perform(get(url + "/nearest")
+                .param("lat", "52.0")
+                .param("lon", "1.1"));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(List.of(nearbyRestaurantDto))));
+    }
+
+    @Test
+    void restaurantController_GetNearestRestaurantsOfBrand_WhenBrandNotFound_ReturnsNotFound() throws Exception {
+        when(restaurantService.findNearestOfBrand(brand.getId(), 52.0, 1.1, 3)).thenThrow(BrandNotFoundException.class);
+
+        ResultActions response = mockMvc.perform(get(url + "/nearest")
+                .param("lat", "52.0")
+                .param("lon", "1.1")
+                .param("k", "3"));
+
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void restaurantController_GetNearbyRestaurants_GivenLimitOutsideRange_ReturnsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(get("/restaurant/nearby")
+                .param("lat", "52.0")
+                .param("lon", "1.1")
+                .param("limit", "1000"));
+
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+    //endregion
+
+    //region IMPORT
+    @Test
+    void restaurantController_ImportRestaurants_GivenCsv_ReturnsImportResult() throws Exception {
+        RestaurantImportResult result = RestaurantImportResult.builder()
+                .rowsRead(2)
+                .rowsRejected(1)
+                .rowsInserted(1)
+                .errors(List.of(RestaurantImportResult.RowError.builder().row(2).message("Brand not found").build()))
+                .build();
+        when(restaurantImportService.importRestaurants(ArgumentMatchers.any(), eq(MediaType.parseMediaType("text/csv")))).thenReturn(result);
+
+        ResultActions response = mockMvc.perform(post("/restaurant/import")
+                .contentType("text/csv")
+                .content("name,address,latitude,longitude,brand\nStarbucks Ipswich,123 Main Street,52.05,1.15,Starbucks\n"));
+
+        response.andExpect(MockMvcResultMatchers.status().isOk());
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.rowsInserted").value(1));
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].row").value(2));
+        response.andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message").value("Brand not found"));
+    }
+
+    @Test
+    void restaurantController_ImportRestaurants_GivenUnsupportedContentType_ReturnsUnsupportedMediaType() throws Exception {
+        ResultActions response = mockMvc.perform(post("/restaurant/import")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<restaurants/>"));
+
+        response.andExpect(MockMvcResultMatchers.status().isUnsupportedMediaType());
+        verifyNoInteractions(restaurantImportService);
+    }
+    //endregion
 }
@@ -0,0 +1,228 @@
+package org.qrush.brand.unit.restaurant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.qrush.brand.restaurant.dto.RestaurantImportResult;
+import org.qrush.brand.restaurant.importer.RestaurantImportService;
+import org.qrush.brand.restaurant.spatial.RestaurantSpatialIndex;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RestaurantImportServiceTests {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private RestaurantSpatialIndex restaurantSpatialIndex = new RestaurantSpatialIndex(0.05);
+
+    @InjectMocks
+    private RestaurantImportService restaurantImportService;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private CopyIn copyIn;
+
+    private UUID brandId;
+    private ByteArrayOutputStream copied;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        brandId = UUID.randomUUID();
+        copied = new ByteArrayOutputStream();
+
+        lenient().when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(jdbcTemplate.execute(Mockito.<ConnectionCallback<?>>any())).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        lenient().when(connection.createStatement()).thenReturn(mock(Statement.class));
+        lenient().when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        lenient().when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        lenient().when(copyManager.copyIn(Mockito.anyString())).thenReturn(copyIn);
+        lenient().doAnswer(invocation -> {
+            copied.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    public void restaurantImportService_ImportRestaurants_GivenCsv_StagesValidRowsAndReportsInvalidOnes() throws Exception {
+        when(copyIn.endCopy()).thenReturn(3L);
+        ResultSet unknownBrand = mock(ResultSet.class);
+        when(unknownBrand.getLong("ordinal")).thenReturn(2L);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(unknownBrand);
+            return null;
+        }).when(jdbcTemplate).query(Mockito.argThat(sql("SELECT ordinal FROM restaurant_import")), Mockito.any(RowCallbackHandler.class));
+        ResultSet merged = mock(ResultSet.class);
+        when(merged.getObject("id", UUID.class)).thenReturn(UUID.randomUUID());
+        when(merged.getObject("brand_id", UUID.class)).thenReturn(brandId);
+        when(merged.getString("name")).thenReturn("Starbucks Ipswich");
+        when(merged.getDouble("latitude")).thenReturn(52.05);
+        when(merged.getDouble("longitude")).thenReturn(1.15);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(merged);
+            return null;
+        }).when(jdbcTemplate).query(Mockito.argThat(sql("INSERT INTO restaurants")), Mockito.any(RowCallbackHandler.class));
+
+        RestaurantImportResult result = restaurantImportService.importRestaurants(body("""
+                name,address,latitude,longitude,brand
+                Starbucks Ipswich,123 Main Street,52.05,1.15,Starbucks
+                Costa Ipswich,1 High Street,52.05,1.15,Costa
+                Starbucks Nowhere,1 Nowhere Lane,95.0,1.15,Starbucks
+                "Starbucks ""Express""",2 Station Road,52.06,1.14,Starbucks
+                """), TEXT_CSV);
+
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getRowsRejected());
+        assertEquals(1, result.getRowsInserted());
+        assertEquals(1, result.getRowsSkipped());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("Brand not found", result.getErrors().get(0).getMessage());
+        assertEquals("Latitude must be between -90 and 90", result.getErrors().get(1).getMessage());
+        String[] staged = copied.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, staged.length);
+        assertTrue(staged[0].matches("1,[0-9a-f-]{36},\"Starbucks Ipswich\",\"123 Main Street\",52\\.05,1\\.15,\"Starbucks\""));
+        assertTrue(staged[1].matches("2,[0-9a-f-]{36},\"Costa Ipswich\",\"1 High Street\",52\\.05,1\\.15,\"Costa\""));
+        assertTrue(staged[2].matches("4,[0-9a-f-]{36},\"Starbucks \"\"Express\"\"\",\"2 Station Road\",52\\.06,1\\.14,\"Starbucks\""));
+        assertEquals(1, restaurantSpatialIndex.size());
+    }
+
+    @Test
+    public void restaurantImportService_ImportRestaurants_GivenNdjsonWithWrongType_RejectsOnlyThatRow() throws Exception {
+        when(copyIn.endCopy()).thenReturn(1L);
+
+        RestaurantImportResult result = restaurantImportService.importRestaurants(body("""
+                {"name":"Starbucks Ipswich","address":"123 Main Street","latitude":"north","longitude":1.15,"brand":"Starbucks"}
+                {"name":"Starbucks Norwich","address":"1 Castle Street","latitude":52.63,"longitude":1.29,"brand":"Starbucks"}
+                """), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(2, result.getRowsRead());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertTrue(copied.toString(StandardCharsets.UTF_8).startsWith("2,"));
+        assertTrue(copied.toString(StandardCharsets.UTF_8).contains(",\"Starbucks Norwich\","));
+    }
+
+    @Test
+    public void restaurantImportService_ImportRestaurants_GivenNullNdjsonLine_RejectsOnlyThatRow() throws Exception {
+        when(copyIn.endCopy()).thenReturn(1L);
+
+        RestaurantImportResult result = restaurantImportService.importRestaurants(body("""
+                null
+                {"name":"Starbucks Norwich","address":"1 Castle Street","latitude":52.63,"longitude":1.29,"brand":"Starbucks"}
+                """), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(2, result.getRowsRead());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("Row is empty", result.getErrors().get(0).getMessage());
+        assertTrue(copied.toString(StandardCharsets.UTF_8).startsWith("2,"));
+    }
+
+    @Test
+    public void restaurantImportService_ImportRestaurants_WhenCommitFails_LeavesSpatialIndexUntouched() throws Exception {
+        when(copyIn.endCopy()).thenReturn(1L);
+        ResultSet merged = mock(ResultSet.class);
+        when(merged.getObject("id", UUID.class)).thenReturn(UUID.randomUUID());
+        when(merged.getObject("brand_id", UUID.class)).thenReturn(brandId);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(merged);
+            return null;
+        }).when(jdbcTemplate).query(Mockito.argThat(sql("INSERT INTO restaurants")), Mockito.any(RowCallbackHandler.class));
+        when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation -> {
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            throw new TransactionSystemException("Commit failed");
+        });
+
+        assertThrows(TransactionSystemException.class, () -> restaurantImportService.importRestaurants(body("""
+                name,address,latitude,longitude,brand
+                Starbucks Ipswich,123 Main Street,52.05,1.15,Starbucks
+                """), TEXT_CSV));
+
+        assertEquals(0, restaurantSpatialIndex.size());
+    }
+
+    @Test
+    public void restaurantImportService_ImportRestaurants_GivenMalformedJson_CancelsCopyAndThrows() throws Exception {
+        when(copyIn.isActive()).thenReturn(true);
+
+        assertThrows(ResponseStatusException.class, () -> restaurantImportService.importRestaurants(
+                body("{\"name\":\"Starbucks Ipswich\",\"address\":"), MediaType.APPLICATION_NDJSON));
+
+        verify(copyIn).cancelCopy();
+        verify(copyIn, never()).endCopy();
+    }
+
+    @Test
+    public void restaurantImportService_ImportRestaurants_ReadsMergeWithFetchSize() throws Exception {
+        when(copyIn.endCopy()).thenReturn(0L);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(Mockito.startsWith("INSERT INTO restaurants"))).thenReturn(statement);
+        doAnswer(invocation -> invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection))
+                .when(jdbcTemplate).query(Mockito.argThat(sql("INSERT INTO restaurants")), Mockito.any(RowCallbackHandler.class));
+
+        restaurantImportService.importRestaurants(body("name,address,latitude,longitude,brand\n"), TEXT_CSV);
+
+        verify(statement).setFetchSize(1000);
+    }
+
+    private static ArgumentMatcher<PreparedStatementCreator> sql(String prefix) {
+        return creator -> creator instanceof SqlProvider provider && provider.getSql().startsWith(prefix);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
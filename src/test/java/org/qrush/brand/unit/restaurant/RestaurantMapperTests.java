@@ -6,7 +6,6 @@ import org.qrush.brand.brand.models.Brand;
 import org.qrush.brand.restaurant.dto.RestaurantDto;
 import org.qrush.brand.restaurant.helpers.RestaurantMapper;
 import org.qrush.brand.restaurant.models.Restaurant;
-import org.springframework.data.geo.Point;
 
 import java.util.UUID;
 
@@ -41,7 +40,8 @@ public class RestaurantMapperTests {
                 .name("Starbucks Ipswich")
                 .brand(brand)
                 .address("123 Street")
-                .location(new Point(1.0, 50.0))
+                .latitude(50.0)
+                .longitude(1.0)
                 .build();
     }
 
@@ -52,8 +52,8 @@ public class RestaurantMapperTests {
         assertEquals(restaurantDto.getName(), restaurantEntity.getName());
         assertEquals(brand, restaurantEntity.getBrand());
         assertEquals(restaurantDto.getAddress(), restaurantEntity.getAddress());
-        assertEquals(restaurantDto.getLatitude(), restaurantEntity.getLocation().getY());
-        assertEquals(restaurantDto.getLongitude(), restaurantEntity.getLocation().getX());
+        assertEquals(restaurantDto.getLatitude(), restaurantEntity.getLatitude());
+        assertEquals(restaurantDto.getLongitude(), restaurantEntity.getLongitude());
     }
 
     @Test
@@ -64,7 +64,7 @@ public class RestaurantMapperTests {
         assertEquals(restaurant.getName(), restaurantDto.getName());
         assertEquals(restaurant.getBrand().getId(), restaurantDto.getBrandId());
         assertEquals(restaurant.getAddress(), restaurantDto.getAddress());
-        assertEquals(restaurant.getLocation().getY(), restaurantDto.getLatitude());
-        assertEquals(restaurant.getLocation().getX(), restaurantDto.getLongitude());
+        assertEquals(restaurant.getLatitude(), restaurantDto.getLatitude());
+        assertEquals(restaurant.getLongitude(), restaurantDto.getLongitude());
     }
 }
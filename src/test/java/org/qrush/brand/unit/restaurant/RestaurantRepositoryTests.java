@@ -7,15 +7,18 @@ import org.junit.jupiter.api.Test;
 import org.qrush.brand.brand.BrandRepository;
 import org.qrush.brand.brand.models.Brand;
 import org.qrush.brand.restaurant.RestaurantRepository;
+import org.qrush.brand.restaurant.dto.RestaurantDto;
 import org.qrush.brand.restaurant.models.Restaurant;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.geo.Point;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +33,9 @@ public class RestaurantRepositoryTests {
     @Autowired
     private BrandRepository brandRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     private Restaurant restaurant;
     private Brand brand;
 
@@ -43,7 +49,8 @@ public class RestaurantRepositoryTests {
         restaurant = Restaurant.builder()
                 .name("Starbucks Ipswich")
                 .address("123 Street")
-                .location(new Point(80.0, 80.0))
+                .latitude(80.0)
+                .longitude(80.0)
                 .brand(brand)
                 .build();
 
@@ -57,10 +64,33 @@ public class RestaurantRepositoryTests {
         assertNotNull(savedRestaurant.getId());
         assertEquals(restaurant.getName(), savedRestaurant.getName());
         assertEquals(restaurant.getAddress(), savedRestaurant.getAddress());
-        assertEquals(restaurant.getLocation(), savedRestaurant.getLocation());
+        assertEquals(restaurant.getLatitude(), savedRestaurant.getLatitude());
+        assertEquals(restaurant.getLongitude(), savedRestaurant.getLongitude());
         assertEquals(restaurant.getBrand(), savedRestaurant.getBrand());
     }
 
+    @Test
+    public void restaurantRepository_StreamAll_SkipsRestaurantsWithoutCoordinates() {
+        Brand savedBrand = brandRepository.save(brand);
+        restaurant.setBrand(savedBrand);
+        restaurantRepository.saveAndFlush(restaurant);
+        // A legacy row the location migration has not backfilled yet
+        testEntityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO restaurants (id, name, address, brand_id, version) VALUES (?1, ?2, ?3, ?4, 0)")
+                .setParameter(1, UUID.randomUUID())
+                .setParameter(2, "Starbucks Legacy")
+                .setParameter(3, "1 Old Street")
+                .setParameter(4, savedBrand.getId())
+                .executeUpdate();
+
+        try (Stream<RestaurantDto> restaurants = restaurantRepository.streamAll()) {
+            List<RestaurantDto> streamed = restaurants.toList();
+
+            assertEquals(1, streamed.size());
+            assertEquals("Starbucks Ipswich", streamed.getFirst().getName());
+        }
+    }
+
     @Test
     public void restaurantRepository_Save_GivenEmptyRestaurantName_ThrowsConstraintViolationException() {
         restaurant.setName("");
@@ -102,13 +132,23 @@ public class RestaurantRepositoryTests {
     }
 
     @Test
-    public void restaurantRepository_Save_GivenNullRestaurantLocation_ThrowsConstraintViolationException() {
-        restaurant.setLocation(null);
+    public void restaurantRepository_Save_GivenNullRestaurantLatitude_ThrowsConstraintViolationException() {
+        restaurant.setLatitude(null);
+
+        var constraintViolationException  = assertThrows(ConstraintViolationException.class, () -> restaurantRepository.saveAndFlush(restaurant));
+        var exceptionMessage = constraintViolationException.getConstraintViolations().stream().findFirst().get().getMessage();
+
+        assertEquals(exceptionMessage, "Restaurant latitude cannot be null");
+    }
+
+    @Test
+    public void restaurantRepository_Save_GivenNullRestaurantLongitude_ThrowsConstraintViolationException() {
+        restaurant.setLongitude(null);
 
         var constraintViolationException  = assertThrows(ConstraintViolationException.class, () -> restaurantRepository.saveAndFlush(restaurant));
         var exceptionMessage = constraintViolationException.getConstraintViolations().stream().findFirst().get().getMessage();
 
-        assertEquals(exceptionMessage, "Restaurant location cannot be null");
+        assertEquals(exceptionMessage, "Restaurant longitude cannot be null");
     }
 
     @Test
@@ -120,7 +160,8 @@ public class RestaurantRepositoryTests {
         Restaurant duplicateRestaurant = Restaurant.builder()
                 .name(restaurant.getName())
                 .address(restaurant.getAddress())
-                .location(restaurant.getLocation())
+                .latitude(restaurant.getLatitude())
+                .longitude(restaurant.getLongitude())
                 .brand(restaurant.getBrand())
                 .build();
 
@@ -143,7 +184,8 @@ public class RestaurantRepositoryTests {
         assertNotNull(foundRestaurant.getId());
         assertEquals(restaurant.getName(), foundRestaurant.getName());
         assertEquals(restaurant.getAddress(), foundRestaurant.getAddress());
-        assertEquals(restaurant.getLocation(), foundRestaurant.getLocation());
+        assertEquals(restaurant.getLatitude(), foundRestaurant.getLatitude());
+        assertEquals(restaurant.getLongitude(), foundRestaurant.getLongitude());
         assertEquals(restaurant.getBrand(), foundRestaurant.getBrand());
     }
 
@@ -1,5 +1,6 @@
 package org.qrush.brand.unit.restaurant;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,17 +9,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.qrush.brand.brand.BrandService;
 import org.qrush.brand.brand.dto.BrandDto;
 import org.qrush.brand.brand.exceptions.BrandNotFoundException;
-import org.qrush.brand.brand.helpers.BrandMapper;
 import org.qrush.brand.restaurant.RestaurantRepository;
 import org.qrush.brand.restaurant.RestaurantService;
+import org.qrush.brand.restaurant.dto.NearbyRestaurantDto;
 import org.qrush.brand.restaurant.dto.RestaurantDto;
 import org.qrush.brand.brand.models.Brand;
 import org.qrush.brand.restaurant.exceptions.RestaurantAlreadyExists;
 import org.qrush.brand.restaurant.helpers.RestaurantMapper;
 import org.qrush.brand.restaurant.models.Restaurant;
-import org.springframework.data.geo.Point;
+import org.qrush.brand.restaurant.spatial.RestaurantSpatialIndex;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import java.util.Optional;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,7 +40,7 @@ public class RestaurantServiceTests {
     private RestaurantMapper restaurantMapper;
 
     @Spy
-    private BrandMapper brandMapper;
+    private RestaurantSpatialIndex restaurantSpatialIndex = new RestaurantSpatialIndex(0.05);
 
     @InjectMocks
     private RestaurantService restaurantService;
@@ -71,7 +74,8 @@ public class RestaurantServiceTests {
         restaurant = Restaurant.builder()
                 .name(restaurantDto.getName())
                 .address(restaurantDto.getAddress())
-                .location(new Point(restaurantDto.getLongitude(), restaurantDto.getLatitude()))
+                .latitude(restaurantDto.getLatitude())
+                .longitude(restaurantDto.getLongitude())
                 .brand(brand)
                 .build();
     }
@@ -79,8 +83,8 @@ public class RestaurantServiceTests {
     //region CREATE
     @Test
     public void restaurantService_CreateRestaurant_ReturnsRestaurantDto() {
-        when(brandService.getBrandById(Mockito.any())).thenReturn(brandDto);
-        when(restaurantRepository.save(Mockito.any(Restaurant.class))).thenReturn(restaurant);
+        when(brandService.getBrandReference(brandId)).thenReturn(brand);
+        when(restaurantRepository.saveAndFlush(Mockito.any(Restaurant.class))).thenReturn(restaurant);
 
         RestaurantDto savedRestaurantDto = restaurantService.createRestaurant(restaurantDto);
 
@@ -90,21 +94,101 @@ public class RestaurantServiceTests {
         assertEquals(restaurantDto.getBrandId(), savedRestaurantDto.getBrandId());
         assertEquals(restaurantDto.getLatitude(), savedRestaurantDto.getLatitude());
         assertEquals(restaurantDto.getLongitude(), savedRestaurantDto.getLongitude());
+        assertEquals(1, restaurantSpatialIndex.size());
+        Mockito.verify(brandService, Mockito.never()).getBrandById(Mockito.any());
+        Mockito.verify(restaurantRepository, Mockito.never()).findByNameAndBrandId(Mockito.any(), Mockito.any());
     }
 
     @Test
     public void restaurantService_CreateRestaurant_GivenBrandDoesNotExist_ThrowsNotFoundException() {
-        when(brandService.getBrandById(Mockito.any())).thenThrow(BrandNotFoundException.class);
+        when(brandService.getBrandReference(brandId)).thenReturn(brand);
+        when(restaurantRepository.saveAndFlush(Mockito.any(Restaurant.class)))
+                .thenThrow(constraintViolation(Restaurant.BRAND_FOREIGN_KEY, "23503"));
 
-        assertThrows(BrandNotFoundException.class, () -> restaurantService.createRestaurant(restaurantDto));
+        BrandNotFoundException exception = assertThrows(BrandNotFoundException.class, () -> restaurantService.createRestaurant(restaurantDto));
+        assertEquals("Brand could not be found", exception.getMessage());
+        assertEquals(0, restaurantSpatialIndex.size());
     }
 
     @Test
     public void restaurantService_CreateBrand_GivenRestaurantNameAlreadyExistsForBrand_ThrowsRestaurantAlreadyExists() {
-        when(brandService.getBrandById(Mockito.any())).thenReturn(brandDto);
-        when(restaurantRepository.findByNameAndBrandId(Mockito.anyString(), Mockito.any())).thenReturn(Optional.of(restaurant));
+        when(brandService.getBrandReference(brandId)).thenReturn(brand);
+        when(brandService.getBrandById(brandId)).thenReturn(brandDto);
+        when(restaurantRepository.saveAndFlush(Mockito.any(Restaurant.class)))
+                .thenThrow(constraintViolation(Restaurant.UNIQUE_NAME_PER_BRAND, "23505"));
+
+        RestaurantAlreadyExists exception = assertThrows(RestaurantAlreadyExists.class, () -> restaurantService.createRestaurant(restaurantDto));
+        assertEquals("Restaurant name already exists for brand Starbucks", exception.getMessage());
+        assertEquals(0, restaurantSpatialIndex.size());
+    }
+
+    @Test
+    public void restaurantService_CreateRestaurant_GivenUnnamedUniqueViolation_ThrowsRestaurantAlreadyExists() {
+        when(brandService.getBrandReference(brandId)).thenReturn(brand);
+        when(brandService.getBrandById(brandId)).thenReturn(brandDto);
+        when(restaurantRepository.saveAndFlush(Mockito.any(Restaurant.class)))
+                .thenThrow(constraintViolation("uk_legacy_name", "23505"));
 
         assertThrows(RestaurantAlreadyExists.class, () -> restaurantService.createRestaurant(restaurantDto));
     }
+
+    @Test
+    public void restaurantService_CreateRestaurant_GivenOtherConstraintViolation_RethrowsViolation() {
+        when(brandService.getBrandReference(brandId)).thenReturn(brand);
+        when(restaurantRepository.saveAndFlush(Mockito.any(Restaurant.class)))
+                .thenThrow(constraintViolation("restaurants_address_not_null", "23502"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> restaurantService.createRestaurant(restaurantDto));
+    }
     //endregion
+
+    //region NEARBY
+    @Test
+    public void restaurantService_FindNearby_GivenNoRadius_ReturnsNearestRestaurants() {
+        restaurantSpatialIndex.add(RestaurantDto.builder().id(UUID.randomUUID()).name("Starbucks Ipswich").address("1 Street").latitude(52.05).longitude(1.15).brandId(brandId).build());
+        restaurantSpatialIndex.add(RestaurantDto.builder().id(UUID.randomUUID()).name("Starbucks London").address("2 Street").latitude(51.5).longitude(-0.12).brandId(brandId).build());
+
+        List<NearbyRestaurantDto> nearby = restaurantService.findNearby(51.51, -0.13, null, 1);
+
+        assertEquals(1, nearby.size());
+        assertEquals("Starbucks London", nearby.getFirst().getName());
+        assertTrue(nearby.getFirst().getDistanceMeters() < 2_000);
+    }
+
+    @Test
+    public void restaurantService_FindNearby_GivenRadius_ReturnsRestaurantsInsideRadius() {
+        restaurantSpatialIndex.add(RestaurantDto.builder().id(UUID.randomUUID()).name("Starbucks Ipswich").address("1 Street").latitude(52.05).longitude(1.15).brandId(brandId).build());
+        restaurantSpatialIndex.add(RestaurantDto.builder().id(UUID.randomUUID()).name("Starbucks London").address("2 Street").latitude(51.5).longitude(-0.12).brandId(brandId).build());
+
+        List<NearbyRestaurantDto> nearby = restaurantService.findNearby(51.51, -0.13, 10_000.0, 20);
+
+        assertEquals(1, nearby.size());
+        assertEquals("Starbucks London", nearby.getFirst().getName());
+    }
+
+    @Test
+    public void restaurantService_FindNearestOfBrand_ReturnsOnlyBrandRestaurants() {
+        UUID otherBrandId = UUID.randomUUID();
+        restaurantSpatialIndex.add(RestaurantDto.builder().id(UUID.randomUUID()).name("Costa London").address("1 Street").latitude(51.5).longitude(-0.12).brandId(otherBrandId).build());
+        restaurantSpatialIndex.add(RestaurantDto.builder().id(UUID.randomUUID()).name("Starbucks Ipswich").address("2 Street").latitude(52.05).longitude(1.15).brandId(brandId).build());
+        when(brandService.getBrandById(brandId)).thenReturn(brandDto);
+
+        List<NearbyRestaurantDto> nearest = restaurantService.findNearestOfBrand(brandId, 51.51, -0.13, 1);
+
+        assertEquals(1, nearest.size());
+        assertEquals("Starbucks Ipswich", nearest.getFirst().getName());
+    }
+
+    @Test
+    public void restaurantService_FindNearestOfBrand_GivenBrandDoesNotExist_ThrowsNotFoundException() {
+        when(brandService.getBrandById(Mockito.any())).thenThrow(BrandNotFoundException.class);
+
+        assertThrows(BrandNotFoundException.class, () -> restaurantService.findNearestOfBrand(brandId, 51.51, -0.13, 1));
+    }
+    //endregion
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName, String sqlState) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation", sqlState), constraintName));
+    }
 }
@@ -0,0 +1,86 @@
+package org.qrush.brand.unit.restaurant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.restaurant.dto.RestaurantDto;
+import org.qrush.brand.restaurant.spatial.Neighbour;
+import org.qrush.brand.restaurant.spatial.RestaurantSpatialIndex;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RestaurantSpatialIndexTests {
+
+    private RestaurantSpatialIndex restaurantSpatialIndex;
+    private UUID largeBrandId;
+    private UUID smallBrandId;
+
+    @BeforeEach
+    public void setup() {
+        restaurantSpatialIndex = new RestaurantSpatialIndex(0.05);
+        largeBrandId = UUID.randomUUID();
+        smallBrandId = UUID.randomUUID();
+
+        // A large chain around London and a single-location brand far away in Ipswich
+        for (int i = 0; i < 500; i++) {
+            restaurantSpatialIndex.add(restaurant(largeBrandId, "Large " + i, 51.3 + (i % 25) * 0.02, -0.5 + (i / 25) * 0.05));
+        }
+        restaurantSpatialIndex.add(restaurant(smallBrandId, "Small Ipswich", 52.05, 1.15));
+    }
+
+    @Test
+    public void restaurantSpatialIndex_NearestOfBrand_OnlyReturnsThatBrandsRestaurants() {
+        List<Neighbour> nearest = restaurantSpatialIndex.nearestOfBrand(smallBrandId, 51.5, -0.12, 3);
+
+        assertEquals(1, nearest.size());
+        assertEquals("Small Ipswich", nearest.getFirst().restaurant().name());
+    }
+
+    @Test
+    public void restaurantSpatialIndex_NearestOfBrand_GivenLargeBrand_ReturnsClosestFirst() {
+        List<Neighbour> nearest = restaurantSpatialIndex.nearestOfBrand(largeBrandId, 52.05, 1.15, 5);
+
+        assertEquals(5, nearest.size());
+        assertTrue(nearest.stream().allMatch(n -> n.restaurant().brandId().equals(largeBrandId)));
+        for (int i = 1; i < nearest.size(); i++) {
+            assertTrue(nearest.get(i - 1).distanceMeters() <= nearest.get(i).distanceMeters());
+        }
+    }
+
+    @Test
+    public void restaurantSpatialIndex_NearestOfBrand_GivenUnknownBrand_ReturnsEmptyList() {
+        assertTrue(restaurantSpatialIndex.nearestOfBrand(UUID.randomUUID(), 51.5, -0.12, 3).isEmpty());
+    }
+
+    @Test
+    public void restaurantSpatialIndex_Nearest_SearchesAcrossBrands() {
+        List<Neighbour> nearest = restaurantSpatialIndex.nearest(52.05, 1.15, 1);
+
+        assertEquals("Small Ipswich", nearest.getFirst().restaurant().name());
+        assertEquals(501, restaurantSpatialIndex.size());
+    }
+
+    @Test
+    public void restaurantSpatialIndex_Add_GivenSameRestaurantTwice_IndexesItOnce() {
+        RestaurantDto restaurant = restaurant(smallBrandId, "Small Norwich", 52.63, 1.29);
+
+        restaurantSpatialIndex.add(restaurant);
+        restaurantSpatialIndex.add(restaurant);
+
+        assertEquals(502, restaurantSpatialIndex.size());
+        assertEquals(2, restaurantSpatialIndex.nearestOfBrand(smallBrandId, 52.63, 1.29, 5).size());
+    }
+
+    private static RestaurantDto restaurant(UUID brandId, String name, double latitude, double longitude) {
+        return RestaurantDto.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .address("1 Street")
+                .latitude(latitude)
+                .longitude(longitude)
+                .brandId(brandId)
+                .build();
+    }
+}
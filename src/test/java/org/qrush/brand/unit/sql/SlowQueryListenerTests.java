@@ -0,0 +1,101 @@
+package org.qrush.brand.unit.sql;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.sql.SlowQueryListener;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlowQueryListenerTests {
+
+    private static final String SQL = "select b.id, b.name from brand b where b.name = ?";
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    public void setup() {
+        logger = (Logger) LoggerFactory.getLogger(SlowQueryListener.class);
+        logger.setLevel(Level.INFO);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    public void slowQueryListener_AfterQuery_GivenSlowStatement_LogsWarningWithRedactedValues() throws Exception {
+        SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100), 0, true);
+
+        listener.afterQuery(execution(250), List.of(query("Starbucks")));
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.getFirst();
+        assertEquals(Level.WARN, event.getLevel());
+        assertTrue(event.getFormattedMessage().contains("250 ms"));
+        assertTrue(event.getFormattedMessage().contains(SQL + " [?]"));
+    }
+
+    @Test
+    public void slowQueryListener_AfterQuery_GivenRedactionDisabled_LogsBindValues() throws Exception {
+        SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100), 0, false);
+
+        listener.afterQuery(execution(250), List.of(query("Starbucks")));
+
+        assertTrue(appender.list.getFirst().getFormattedMessage().contains(SQL + " [Starbucks]"));
+    }
+
+    @Test
+    public void slowQueryListener_AfterQuery_GivenFastStatementAndNoSampling_LogsNothing() throws Exception {
+        SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100), 0, true);
+
+        listener.afterQuery(execution(5), List.of(query("Starbucks")));
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    public void slowQueryListener_AfterQuery_GivenFastStatementAndFullSampling_LogsInfo() throws Exception {
+        SlowQueryListener listener = new SlowQueryListener(Duration.ofMillis(100), 1, true);
+
+        listener.afterQuery(execution(5), List.of(query("Starbucks")));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.INFO, appender.list.getFirst().getLevel());
+        assertTrue(appender.list.getFirst().getFormattedMessage().startsWith("Sampled statement took 5 ms"));
+    }
+
+    private ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+
+    private QueryInfo query(String name) throws NoSuchMethodException {
+        QueryInfo queryInfo = new QueryInfo(SQL);
+        ParameterSetOperation setName = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class), new Object[]{1, name});
+        queryInfo.getParametersList().add(List.of(setName));
+        return queryInfo;
+    }
+}
@@ -0,0 +1,67 @@
+package org.qrush.brand.unit.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.qrush.brand.timing.ServerTimingFilter;
+import org.qrush.brand.timing.ServerTimings;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServerTimingFilterTests {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setup() {
+        request = new MockHttpServletRequest("POST", "/brand");
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void serverTimingFilter_DoFilter_ReportsMarkedPhasesDbAndTotal() throws Exception {
+        filter.doFilter(request, response, (req, res) -> {
+            ServerTimings.phase("validate");
+            ServerTimings.phase("insert");
+        });
+
+        String header = response.getHeader(ServerTimings.HEADER);
+        assertNotNull(header);
+        assertTrue(header.matches("validate;dur=\\d+\\.\\d{3}, insert;dur=\\d+\\.\\d{3}, db;dur=0\\.000;desc=\"0 statements\", total;dur=\\d+\\.\\d{3}"), header);
+    }
+
+    @Test
+    public void serverTimingFilter_DoFilter_GivenPhaseMarkedTwice_ReportsItOnce() throws Exception {
+        filter.doFilter(request, response, (req, res) -> {
+            ServerTimings.phase("lookup");
+            ServerTimings.phase("insert");
+            ServerTimings.phase("lookup");
+        });
+
+        String header = response.getHeader(ServerTimings.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("lookup;dur="), header);
+        assertTrue(header.indexOf("lookup") == header.lastIndexOf("lookup"), header);
+    }
+
+    @Test
+    public void serverTimings_Phase_OutsideInstrumentedRequest_DoesNothing() {
+        RequestContextHolder.resetRequestAttributes();
+
+        assertDoesNotThrow(() -> ServerTimings.phase("insert"));
+    }
+}